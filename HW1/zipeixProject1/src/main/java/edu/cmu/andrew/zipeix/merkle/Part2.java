@@ -1,4 +1,6 @@
-package edu.cmu.andrew.zipeix;
+package edu.cmu.andrew.zipeix.merkle;
+
+import edu.cmu.andrew.zipeix.collections.SinglyLinkedList;
 
 import java.math.BigInteger;
 import java.util.Random;
@@ -9,11 +11,11 @@ public class Part2 {
      * Hold the super-increasing sequence of integers that make
      * up part of the private key and used for decryption.
      */
-    private static SinglyLinkedList w;
+    private static SinglyLinkedList<Void, BigInteger> w;
     /**
      * Hold the public key material used for encryption.
      */
-    private static SinglyLinkedList b;
+    private static SinglyLinkedList<Void, BigInteger> b;
 
     private static BigInteger sum = BigInteger.ZERO;
 
@@ -68,7 +70,7 @@ public class Part2 {
                 // Then selecting the next largest element less than or equal to the difference, until the difference is 0}:
                 int countNode = w.countNodes() - 1;
                 while (decryptNumber.compareTo(BigInteger.ZERO) != 0) {
-                    BigInteger current = (BigInteger) w.getObjectAt(countNode);
+                    BigInteger current = w.getObjectAt(countNode);
 
                     // Decomposes decryptNumber by selecting the largest element in w which is less than or equal to decryptNumber.
                     if (decryptNumber.compareTo(current) >= 0) {
@@ -99,8 +101,8 @@ public class Part2 {
      * @param s input string
      * @return w
      */
-    public static SinglyLinkedList initializeW(String s) {
-        SinglyLinkedList result = new SinglyLinkedList();
+    public static SinglyLinkedList<Void, BigInteger> initializeW(String s) {
+        SinglyLinkedList<Void, BigInteger> result = new SinglyLinkedList<>();
         for(int i = 0;i < (s.length() * 8); i++) {
             BigInteger cur = randomIncrement();
             // add it to the current sum
@@ -126,10 +128,10 @@ public class Part2 {
         return r;
     }
 
-    public static SinglyLinkedList calculateB(BigInteger r, BigInteger q) {
-        SinglyLinkedList result = new SinglyLinkedList();
+    public static SinglyLinkedList<Void, BigInteger> calculateB(BigInteger r, BigInteger q) {
+        SinglyLinkedList<Void, BigInteger> result = new SinglyLinkedList<>();
         for (int i = 0; i < w.countNodes(); i++) {
-            BigInteger wi = (BigInteger) (w.getObjectAt(i));
+            BigInteger wi = w.getObjectAt(i);
             result.addAtEndNode(wi.multiply(r).mod(q));
         }
         return result;
@@ -149,7 +151,7 @@ public class Part2 {
         for (int i = 0; i < inputBinary.length(); i++) {
             char inputI = inputBinary.charAt(i);
             if (inputI == '1') {
-                encrypt = encrypt.add((BigInteger) b.getObjectAt(i));
+                encrypt = encrypt.add(b.getObjectAt(i));
             }
         }
         return encrypt;
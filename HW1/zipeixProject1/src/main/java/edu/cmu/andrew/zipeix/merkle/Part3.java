@@ -1,4 +1,6 @@
-package edu.cmu.andrew.zipeix;
+package edu.cmu.andrew.zipeix.merkle;
+
+import edu.cmu.andrew.zipeix.collections.SinglyLinkedList;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -29,7 +31,7 @@ public class Part3 {
             scanner = new Scanner(new File(nextLine), "UTF-8");
 
             // Each line will be stored in a node on a list.
-            SinglyLinkedList firstList = new SinglyLinkedList();
+            SinglyLinkedList<Void, String> firstList = new SinglyLinkedList<>();
             while (scanner.hasNextLine()) {
                 String line = scanner.nextLine();
                 firstList.addAtEndNode(line);
@@ -40,9 +42,9 @@ public class Part3 {
              *   a second list will be created containing the cryptographic hashes
              *   of these nodes.
              */
-            SinglyLinkedList secondList = new SinglyLinkedList();
+            SinglyLinkedList<Void, String> secondList = new SinglyLinkedList<>();
             for (int i = 0; i < firstList.countNodes(); i++) {
-                String data = (String) firstList.getObjectAt(i);
+                String data = firstList.getObjectAt(i);
                 String hash = h(data);
                 secondList.addAtEndNode(hash);
             }
@@ -60,35 +62,35 @@ public class Part3 {
             }
 
             // create a list of lists for each level in the Merkle tree.
-            SinglyLinkedList tree = new SinglyLinkedList();
+            SinglyLinkedList<Void, SinglyLinkedList<Void, String>> tree = new SinglyLinkedList<>();
             tree.addAtEndNode(firstList);
             tree.addAtEndNode(secondList);
 
-            SinglyLinkedList pre = (SinglyLinkedList) tree.getLast();
+            SinglyLinkedList<Void, String> pre = tree.getLast();
 
             // implement this tree within a list of lists.
             while (pre.countNodes() > 2) {
                 if (pre.countNodes() % 2 != 0) {
                     pre.addAtEndNode(pre.getLast());
                 }
-                SinglyLinkedList newLevel = new SinglyLinkedList();
+                SinglyLinkedList<Void, String> newLevel = new SinglyLinkedList<>();
                 for (int i = 0; i < pre.countNodes(); i += 2) {
-                    String hash1 = (String) pre.getObjectAt(i);
-                    String hash2 = (String) pre.getObjectAt(i + 1);
+                    String hash1 = pre.getObjectAt(i);
+                    String hash2 = pre.getObjectAt(i + 1);
 
                     // concatenate these two hashes and hash the concatenation to compute a new hash.
                     String newHash = h(hash1 + hash2);
                     newLevel.addAtEndNode(newHash);
                 }
                 tree.addAtEndNode(newLevel);
-                pre = (SinglyLinkedList) tree.getLast();
+                pre = tree.getLast();
             }
-            String hashOne = (String) pre.getObjectAt(0);
-            String hashTwo = (String) pre.getLast();
+            String hashOne = pre.getObjectAt(0);
+            String hashTwo = pre.getLast();
 
             // concatenate these two hashes and hash the concatenation to compute a new hash.
             String rootValue = h(hashOne + hashTwo);
-            SinglyLinkedList root = new SinglyLinkedList();
+            SinglyLinkedList<Void, String> root = new SinglyLinkedList<>();
             root.addAtEndNode(rootValue);
 
             // display the Merkle root.
@@ -0,0 +1,195 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A word tree that many threads can search while other threads add words.
+ * It wraps a RedBlackTree in one of two modes:
+ * LOCKED searches the RedBlackTree under the read lock of a read-write lock
+ * and inserts under the write lock, so an insert costs O(logN) but waits for
+ * the searches in progress, and searches wait for the insert.
+ * COPY_ON_WRITE searches a FrozenWordTree published through a volatile field
+ * and takes no lock at all; an insert goes into the RedBlackTree under the
+ * write lock and then publishes a new frozen copy, so it costs O(N) and is
+ * seen by searches that start after it returns.
+ * Searches report their comparison count in the WordLookup they return, not
+ * through a getRecentCompares() that another thread could change.
+ */
+public class ConcurrentWordTree {
+
+    /**
+     * How searches and inserts are kept apart.
+     */
+    public enum Mode {
+        LOCKED,
+        COPY_ON_WRITE
+    }
+
+    private final Mode mode;
+
+    /**
+     * The words, changed only under the write lock.
+     */
+    private final RedBlackTree tree;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Copy of tree searched in COPY_ON_WRITE mode, replaced after every insert; null in LOCKED mode.
+     */
+    private volatile FrozenWordTree frozen;
+
+    /**
+     * This constructor takes over a tree, such as one bulk-loaded from the
+     * dictionary file. The tree must not be used directly afterwards.
+     * @param tree the words to start with
+     * @param mode how searches and inserts are kept apart
+     * @worst-time O(N)
+     * @best-time O(1)
+     */
+    public ConcurrentWordTree(RedBlackTree tree, Mode mode) {
+        this.tree = tree;
+        this.mode = mode;
+        if (mode == Mode.COPY_ON_WRITE) {
+            frozen = tree.freeze();
+        }
+    }
+
+    /**
+     * @return the mode given to the constructor
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return number of words in the tree.
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public int getSize() {
+        if (mode == Mode.COPY_ON_WRITE) {
+            return frozen.getSize();
+        }
+        lock.readLock().lock();
+        try {
+            return tree.getSize();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The boolean contains() returns true if the String v is in the tree and false otherwise.
+     * @param v the value to search for
+     * @return true if v is in the tree, false otherwise
+     * @worst-time O(logN)
+     * @best-time O(1)
+     */
+    public boolean contains(String v) {
+        if (mode == Mode.COPY_ON_WRITE) {
+            return frozen.contains(v);
+        }
+        lock.readLock().lock();
+        try {
+            return tree.contains(v);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The method closeBy(v) returns a value close to v in the tree.
+     * If v is found in the tree it returns v.
+     * @param v the value to search close by for.
+     * @return the closest string, null if the tree is empty
+     * @worst-time O(logN)
+     * @best-time O(1)
+     */
+    public String closeBy(String v) {
+        return lookup(v).getClosest();
+    }
+
+    /**
+     * The method lookup(v) searches for v once and returns whether it was
+     * found, the number of comparisons and the closest word.
+     * @param v the value to search for
+     * @return the result of the search
+     * @worst-time O(logN)
+     * @best-time O(1)
+     */
+    public WordLookup lookup(String v) {
+        if (mode == Mode.COPY_ON_WRITE) {
+            return frozen.lookup(v);
+        }
+        lock.readLock().lock();
+        try {
+            return tree.lookup(v);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The add() method inserts a word unless it is already in the tree. The
+     * check and the insert are one step, so two threads adding the same word
+     * add it once.
+     * @param value the word to add
+     * @return true if the word was added, false if it was already in the tree
+     * @worst-time O(N) in COPY_ON_WRITE mode, O(logN) in LOCKED mode
+     * @best-time O(logN)
+     */
+    public boolean add(String value) {
+        lock.writeLock().lock();
+        try {
+            if (tree.lookup(value).isFound()) {
+                return false;
+            }
+            tree.insert(value);
+            publish();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The addAll() method adds every word that is not already in the tree.
+     * In COPY_ON_WRITE mode the frozen copy is made once for all of them.
+     * @param values the words to add
+     * @return number of words added
+     * @worst-time O(N + MlogN) for M values
+     * @best-time O(MlogN)
+     */
+    public int addAll(Collection<String> values) {
+        lock.writeLock().lock();
+        try {
+            int added = 0;
+            for (String value : values) {
+                if (!tree.lookup(value).isFound()) {
+                    tree.insert(value);
+                    added++;
+                }
+            }
+            if (added > 0) {
+                publish();
+            }
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Make inserts visible to the lock-free searches of COPY_ON_WRITE mode.
+     * Called with the write lock held.
+     */
+    private void publish() {
+        if (mode == Mode.COPY_ON_WRITE) {
+            frozen = tree.freeze();
+        }
+    }
+}
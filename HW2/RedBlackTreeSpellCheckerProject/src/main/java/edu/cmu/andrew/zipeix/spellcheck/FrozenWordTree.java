@@ -0,0 +1,204 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+/**
+ * Read-only copy of a word tree laid out for fast lookups.
+ * The words are stored in Eytzinger order: the root at index 1 and the
+ * children of node k at 2k and 2k + 1, so the tree is one String array
+ * without node objects or child pointers, and the top levels that every
+ * search passes through share a few cache lines.
+ * A parallel long array holds the first seven chars of every word, so most
+ * comparisons are made on the longs without reading the String.
+ * The arrays never change after construction, so any number of threads may
+ * search one FrozenWordTree at once.
+ */
+public class FrozenWordTree {
+
+    /**
+     * Words in Eytzinger order, index 0 unused.
+     */
+    private final String[] words;
+
+    /**
+     * First seven chars of words[k], packed so that their unsigned order follows String.compareTo.
+     */
+    private final long[] prefixes;
+
+    /**
+     * Chars packed into every prefix.
+     */
+    private static final int PREFIX_CHARS = 7;
+
+    private final int size;
+
+    /**
+     * Comparisons made by the last contains() of each thread.
+     */
+    private final ThreadLocal<Integer> comparison = ThreadLocal.withInitial(() -> 0);
+
+    /**
+     * This constructor lays out words that are already sorted, such as the
+     * inorder traversal of a RedBlackTree.
+     * @param sortedWords words in ascending String.compareTo order
+     * @throws IllegalArgumentException if a word is smaller than the word before it
+     * @worst-time O(N)
+     * @best-time O(N)
+     */
+    public FrozenWordTree(String[] sortedWords) {
+        for (int i = 1; i < sortedWords.length; i++) {
+            if (sortedWords[i].compareTo(sortedWords[i - 1]) < 0) {
+                throw new IllegalArgumentException("Words are not sorted: " + sortedWords[i] + " after " + sortedWords[i - 1]);
+            }
+        }
+        size = sortedWords.length;
+        words = new String[size + 1];
+        prefixes = new long[size + 1];
+        layOut(sortedWords, 0, 1);
+    }
+
+    /**
+     * @return number of words in the tree.
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * The boolean contains() returns true if the String v is in the tree and false otherwise.
+     * It counts each word it compares v with per thread, as RedBlackTree.contains does.
+     * @param v the value to search for
+     * @return true if v is in the tree, false otherwise
+     * @worst-time O(logN)
+     * @best-time O(1)
+     */
+    public boolean contains(String v) {
+        int count = 0;
+        long prefix = prefix(v);
+        int k = 1;
+        while (k <= size) {
+            count++;
+            int c = compare(v, prefix, k);
+            if (c == 0) {
+                comparison.set(count);
+                return true;
+            }
+            k = 2 * k + (c > 0 ? 1 : 0);
+        }
+        comparison.set(count);
+        return false;
+    }
+
+    /**
+     * @return number of comparisons made in last call on the contains method by the calling thread.
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public int getRecentCompares() {
+        return comparison.get();
+    }
+
+    /**
+     * The method lookup(v) answers contains(v), getRecentCompares() and
+     * closeBy(v) with one search, as RedBlackTree.lookup does.
+     * @param v the value to search for
+     * @return the result of the search
+     * @worst-time O(logN)
+     * @best-time O(1)
+     */
+    public WordLookup lookup(String v) {
+        int count = 0;
+        long prefix = prefix(v);
+        String last = null;
+        int k = 1;
+        while (k <= size) {
+            count++;
+            int c = compare(v, prefix, k);
+            if (c == 0) {
+                return new WordLookup(true, count, v);
+            }
+            last = words[k];
+            k = 2 * k + (c > 0 ? 1 : 0);
+        }
+        return new WordLookup(false, count, last);
+    }
+
+    /**
+     * The method closeBy(v) returns a value close to v in the tree: the last
+     * word on the search path, which is the word just before or just after v.
+     * If v is found in the tree it returns v.
+     * @param v the value to search close by for.
+     * @return the closest string, null if the tree is empty
+     * @worst-time O(logN)
+     * @best-time O(1)
+     */
+    public String closeBy(String v) {
+        long prefix = prefix(v);
+        String last = null;
+        int k = 1;
+        while (k <= size) {
+            int c = compare(v, prefix, k);
+            if (c == 0) {
+                return v;
+            }
+            last = words[k];
+            k = 2 * k + (c > 0 ? 1 : 0);
+        }
+        return last;
+    }
+
+    /**
+     * @return the height of the tree, the number of edges on its longest path.
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public int height() {
+        return size == 0 ? 0 : 31 - Integer.numberOfLeadingZeros(size);
+    }
+
+    /**
+     * Puts the words of the subtree at index k in place, in inorder.
+     * @param sortedWords all words in order
+     * @param next index in sortedWords of the first word of the subtree
+     * @param k Eytzinger index of the subtree root
+     * @return index in sortedWords of the first word after the subtree
+     */
+    private int layOut(String[] sortedWords, int next, int k) {
+        if (k > size) {
+            return next;
+        }
+        next = layOut(sortedWords, next, 2 * k);
+        words[k] = sortedWords[next];
+        prefixes[k] = prefix(sortedWords[next]);
+        return layOut(sortedWords, next + 1, 2 * k + 1);
+    }
+
+    /**
+     * Compare v with words[k], on the prefixes first.
+     */
+    private int compare(String v, long prefix, int k) {
+        int c = Long.compareUnsigned(prefix, prefixes[k]);
+        return c != 0 ? c : v.compareTo(words[k]);
+    }
+
+    /**
+     * Pack the first seven chars into 9 bits each, padded with zeros. A char
+     * of 511 or more packs as 511 and ends the prefix. A word never packs above
+     * the longer words it starts, so unequal prefixes order two words like
+     * String.compareTo, and equal prefixes need the full comparison.
+     */
+    private static long prefix(String word) {
+        long prefix = 0;
+        int i = 0;
+        for (; i < PREFIX_CHARS && i < word.length(); i++) {
+            int c = word.charAt(i);
+            if (c >= 511) {
+                prefix = prefix << 9 | 511;
+                i++;
+                break;
+            }
+            prefix = prefix << 9 | c;
+        }
+        return prefix << 9 * (PREFIX_CHARS - i);
+    }
+}
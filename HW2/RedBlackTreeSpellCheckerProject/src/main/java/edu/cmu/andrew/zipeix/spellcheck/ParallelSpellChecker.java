@@ -0,0 +1,311 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Spell checks a text file against a FrozenWordTree on all processors.
+ * The calling thread reads the file in chunks through a FileChannel and cuts
+ * every chunk after its last non-word byte, so no word is split between two
+ * chunks. Each chunk is checked by a ForkJoinPool task that tokenizes the
+ * bytes by hand and looks every distinct word of the chunk up once. At most
+ * window chunks are held in memory at once, and their results are collected
+ * in the order the chunks were read, so misspellings come back in document
+ * order with their line numbers.
+ * A word is a run of the chars [A-Za-z0-9_] that the regular expression \w
+ * matches; every other byte, including all bytes of non-ASCII chars,
+ * separates words.
+ */
+public class ParallelSpellChecker {
+
+    /**
+     * Bytes read for each chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final FrozenWordTree dictionary;
+
+    private final int chunkSize;
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * At most this many chunks are held in memory at once.
+     */
+    private final int window = 2 * pool.getParallelism();
+
+    /**
+     * A word that is not in the dictionary, and where it is in the file.
+     */
+    public static class Misspelling {
+        private final String word;
+        private final long line;
+        private final long offset;
+
+        Misspelling(String word, long line, long offset) {
+            this.word = word;
+            this.line = line;
+            this.offset = offset;
+        }
+
+        /**
+         * @return the word as it is in the file
+         */
+        public String getWord() {
+            return word;
+        }
+
+        /**
+         * @return line of the word, the first line is 1
+         */
+        public long getLine() {
+            return line;
+        }
+
+        /**
+         * @return byte offset of the word in the file
+         */
+        public long getOffset() {
+            return offset;
+        }
+    }
+
+    /**
+     * The misspellings of a file in document order, with throughput figures.
+     */
+    public static class Report {
+        private final List<Misspelling> misspellings;
+        private final long bytes;
+        private final long words;
+        private final long lookups;
+        private final long nanos;
+
+        Report(List<Misspelling> misspellings, long bytes, long words, long lookups, long nanos) {
+            this.misspellings = Collections.unmodifiableList(misspellings);
+            this.bytes = bytes;
+            this.words = words;
+            this.lookups = lookups;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return every occurrence of a word not in the dictionary, in document order
+         */
+        public List<Misspelling> getMisspellings() {
+            return misspellings;
+        }
+
+        /**
+         * @return length of the file
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return number of words in the file
+         */
+        public long getWords() {
+            return words;
+        }
+
+        /**
+         * @return number of dictionary searches, one per distinct word of each chunk
+         */
+        public long getLookups() {
+            return lookups;
+        }
+
+        /**
+         * @return time from opening the file to the last result
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return words checked per second
+         */
+        public double getWordsPerSecond() {
+            return words * 1e9 / Math.max(nanos, 1);
+        }
+
+        /**
+         * @return megabytes of text checked per second
+         */
+        public double getMegabytesPerSecond() {
+            return bytes * 1e9 / Math.max(nanos, 1) / (1 << 20);
+        }
+
+        /**
+         * @return a one-line summary of the throughput figures
+         */
+        public String toString() {
+            return String.format("Checked %d words (%d lookups) in %.1f ms: %.0f words/s, %.1f MB/s.",
+                    words, lookups, nanos / 1e6, getWordsPerSecond(), getMegabytesPerSecond());
+        }
+    }
+
+    /**
+     * Result of one chunk: misspellings with line numbers counted from the start of the chunk.
+     */
+    private static class Chunk {
+        private final long offset;
+        private final List<Misspelling> misspellings;
+        private final int newlines;
+        private final int words;
+        private final int lookups;
+
+        Chunk(long offset, List<Misspelling> misspellings, int newlines, int words, int lookups) {
+            this.offset = offset;
+            this.misspellings = misspellings;
+            this.newlines = newlines;
+            this.words = words;
+            this.lookups = lookups;
+        }
+    }
+
+    /**
+     * Constructor.
+     * @param dictionary the words spelled correctly
+     * @param chunkSize bytes read for each chunk
+     */
+    public ParallelSpellChecker(FrozenWordTree dictionary, int chunkSize) {
+        this.dictionary = dictionary;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Check a file.
+     * Chunks are read in order, checked in parallel and collected in order.
+     * @param fileName the text file
+     * @return the misspellings in document order
+     * @throws IOException if the file cannot be read
+     */
+    public Report check(String fileName) throws IOException {
+        long start = System.nanoTime();
+        ArrayList<Misspelling> misspellings = new ArrayList<>();
+        long bytes = 0;
+        long words = 0;
+        long lookups = 0;
+        long line = 1;
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            ArrayDeque<ForkJoinTask<Chunk>> pending = new ArrayDeque<>();
+            // the unfinished word at the end of the last chunk, moved to the start of the next
+            byte[] carry = new byte[0];
+            boolean endOfFile = false;
+            while (!endOfFile || !pending.isEmpty()) {
+                if (!endOfFile && pending.size() < window) {
+                    byte[] data = new byte[carry.length + chunkSize];
+                    System.arraycopy(carry, 0, data, 0, carry.length);
+                    int length = carry.length + readChunk(channel, data, carry.length);
+                    endOfFile = length < data.length;
+                    int cut = endOfFile ? length : lastSeparator(data, length) + 1;
+                    // without a separator the whole chunk is one word; it grows with the next read
+                    carry = new byte[length - cut];
+                    System.arraycopy(data, cut, carry, 0, carry.length);
+                    if (cut > 0) {
+                        long offset = bytes;
+                        pending.add(pool.submit(() -> checkChunk(data, cut, offset)));
+                        bytes += cut;
+                    }
+                    continue;
+                }
+                Chunk chunk = pending.remove().join();
+                for (Misspelling m : chunk.misspellings) {
+                    misspellings.add(new Misspelling(m.word, line + m.line, chunk.offset + m.offset));
+                }
+                line += chunk.newlines;
+                words += chunk.words;
+                lookups += chunk.lookups;
+            }
+        }
+        return new Report(misspellings, bytes, words, lookups, System.nanoTime() - start);
+    }
+
+    /**
+     * Tokenize a chunk and look up each distinct word once.
+     * @param data bytes of the chunk
+     * @param length number of bytes used in data
+     * @param offset byte offset of the chunk in the file
+     * @return the misspellings, with lines and offsets counted from the start of the chunk
+     */
+    private Chunk checkChunk(byte[] data, int length, long offset) {
+        ArrayList<Misspelling> misspellings = new ArrayList<>();
+        HashMap<String, Boolean> known = new HashMap<>();
+        int newlines = 0;
+        int words = 0;
+        int i = 0;
+        while (i < length) {
+            byte b = data[i];
+            if (!isWordByte(b)) {
+                if (b == '\n') {
+                    newlines++;
+                }
+                i++;
+                continue;
+            }
+            int begin = i;
+            while (i < length && isWordByte(data[i])) {
+                i++;
+            }
+            // word bytes are ASCII, the same in every charset the file may use
+            String word = new String(data, begin, i - begin, StandardCharsets.ISO_8859_1);
+            words++;
+            Boolean found = known.get(word);
+            if (found == null) {
+                found = dictionary.contains(word);
+                known.put(word, found);
+            }
+            if (!found) {
+                misspellings.add(new Misspelling(word, newlines, begin));
+            }
+        }
+        return new Chunk(offset, misspellings, newlines, words, known.size());
+    }
+
+    /**
+     * @return true if b is one of the chars [A-Za-z0-9_]
+     */
+    private static boolean isWordByte(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_';
+    }
+
+    /**
+     * @return index of the last byte before length that is not part of a word, -1 if there is none
+     */
+    private static int lastSeparator(byte[] data, int length) {
+        int i = length - 1;
+        while (i >= 0 && isWordByte(data[i])) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Read from the channel until data is full or the file ends.
+     * @param channel the file
+     * @param data buffer to fill
+     * @param from first index of data to fill
+     * @return number of bytes read, less than data.length - from only at the end of the file
+     * @throws IOException Read Exception
+     */
+    private static int readChunk(FileChannel channel, byte[] data, int from) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data, from, data.length - from);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // read again until full or end of file
+        }
+        return buffer.position() - from;
+    }
+}
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
 public class RedBlackNode {
 
     private String data;
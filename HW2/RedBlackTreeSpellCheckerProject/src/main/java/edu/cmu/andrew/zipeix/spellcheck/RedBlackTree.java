@@ -1,3 +1,11 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+import edu.cmu.andrew.zipeix.collections.Queue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 public class RedBlackTree {
 
     /**
@@ -7,7 +15,12 @@ public class RedBlackTree {
     public static final int RED = 1;
     public static final RedBlackNode nulls = new RedBlackNode(null, BLACK, null, null, null);
     public RedBlackNode root;
-    private int comparison = 0;
+
+    /**
+     * Comparisons made by the last contains() of each thread, so that threads
+     * sharing a tree read their own count from getRecentCompares().
+     */
+    private final ThreadLocal<Integer> comparison = ThreadLocal.withInitial(() -> 0);
     private int size = 0;
 
     /**
@@ -23,10 +36,65 @@ public class RedBlackTree {
      */
     public RedBlackTree() {
         root = new RedBlackNode(null, BLACK, nulls, nulls, nulls);
-        comparison = 0;
         size = 0;
     }
 
+    /**
+     * This bulk-load constructor builds a balanced RedBlackTree from keys that
+     * are already sorted, such as the lines of a sorted dictionary file.
+     * The middle key of every range becomes the root of its subtree, so no
+     * descents, rotations or RBInsertFixup calls are needed. Every node is black
+     * except those on the deepest level, which are red unless that level is
+     * the root: all paths from a node to the sentinel then pass the same
+     * number of black nodes, and every red node has a black parent.
+     * The tree can be grown with insert afterwards.
+     * @param sortedKeys keys in ascending String.compareTo order; equal keys are kept, as insert keeps them
+     * @throws IllegalArgumentException if a key is smaller than the key before it
+     * @worst-time O(N)
+     * @best-time O(N)
+     */
+    public RedBlackTree(Iterator<String> sortedKeys) {
+        this();
+        ArrayList<String> keys = new ArrayList<>();
+        while (sortedKeys.hasNext()) {
+            String key = sortedKeys.next();
+            if (!keys.isEmpty() && key.compareTo(keys.get(keys.size() - 1)) < 0) {
+                throw new IllegalArgumentException("Keys are not sorted: " + key + " after " + keys.get(keys.size() - 1));
+            }
+            keys.add(key);
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        size = keys.size();
+        int redDepth = 31 - Integer.numberOfLeadingZeros(size);
+        root = build(keys, 0, size - 1, nulls, 0, redDepth);
+    }
+
+    /**
+     * Builds the subtree of keys low to high, both included, for the bulk-load constructor.
+     * @param keys sorted keys
+     * @param low first key of the subtree
+     * @param high last key of the subtree
+     * @param parent parent of the subtree root, nulls for the root of the tree
+     * @param depth depth of the subtree root
+     * @param redDepth depth of the deepest level, whose nodes are red
+     * @return root of the subtree, or nulls if the range is empty
+     * @worst-time O(N)
+     * @best-time O(N)
+     */
+    private RedBlackNode build(List<String> keys, int low, int high, RedBlackNode parent, int depth, int redDepth) {
+        if (low > high) {
+            return nulls;
+        }
+        int mid = (low + high) >>> 1;
+        int color = depth == redDepth && depth > 0 ? RED : BLACK;
+        RedBlackNode node = new RedBlackNode(keys.get(mid), color, parent, nulls, nulls);
+        node.setLc(build(keys, low, mid - 1, node, depth + 1, redDepth));
+        node.setRc(build(keys, mid + 1, high, node, depth + 1, redDepth));
+        return node;
+    }
+
     /**
      * @return number of values inserted into the tree.
      * @worst-time O(1)
@@ -36,6 +104,57 @@ public class RedBlackTree {
         return size;
     }
 
+    /**
+     * Copy the words into a FrozenWordTree, whose contains and closeBy search an
+     * array instead of following node pointers. Later inserts into this tree
+     * do not change the copy; freeze again to include them.
+     * @return the frozen copy
+     * @worst-time O(N)
+     * @best-time O(N)
+     */
+    public FrozenWordTree freeze() {
+        return new FrozenWordTree(sortedWords());
+    }
+
+    /**
+     * Build a SuggestionIndex of the words, which finds the words within a
+     * small edit distance of a misspelling. Later inserts into this tree do
+     * not change the index; build it again to include them.
+     * @return the index
+     * @worst-time O(NlogN)
+     * @best-time O(NlogN)
+     */
+    public SuggestionIndex suggestionIndex() {
+        return new SuggestionIndex(sortedWords());
+    }
+
+    /**
+     * The words of the tree in order, from an iterative inorder traversal.
+     * @return the words in ascending order
+     * @worst-time O(N)
+     * @best-time O(N)
+     */
+    private String[] sortedWords() {
+        String[] sorted = new String[root.getData() == null ? 0 : size];
+        int count = 0;
+        RedBlackNode[] path = new RedBlackNode[height(root) + 1];
+        int depth = 0;
+        RedBlackNode t = sorted.length == 0 ? nulls : root;
+        while (t != nulls || depth > 0) {
+            if (t != nulls) {
+                // go left, remembering the way back
+                path[depth++] = t;
+                t = t.getLc();
+            } else {
+                // deal with the node, then go right
+                t = path[--depth];
+                sorted[count++] = t.getData();
+                t = t.getRc();
+            }
+        }
+        return sorted;
+    }
+
     /**
      * Performs an inorder traversal of the tree.
      * The inOrderTraversal(RedBlackNode) method is recursive and displays the content of the tree.
@@ -309,18 +428,22 @@ public class RedBlackTree {
 
     /**
      * The boolean contains() returns true if the String v is in the RedBlackTree and false otherwise.
-     * It counts each comparison it makes in the variable recentCompares.
+     * It counts each comparison it makes in the variable recentCompares, which
+     * is kept per thread: concurrent calls do not see each other's counts.
+     * Searches do not change the tree, so many threads may call contains,
+     * closeBy and lookup at once as long as no thread inserts; see ConcurrentWordTree.
      * @param v the value to search for
      * @return true if v is in the tree, false otherwise
      * @worst-time O(logN)
      * @best-time O(1)
      */
     public boolean contains(String v) {
-        comparison = 0;
+        int count = 0;
         RedBlackNode cur = root;
         while (cur != nulls) {
-            comparison++;
+            count++;
             if (v.equals(cur.getData())) {
+                comparison.set(count);
                 return true;
             } else if (v.compareTo(cur.getData()) < 0) {
                 cur = cur.getLc();
@@ -328,16 +451,45 @@ public class RedBlackTree {
                 cur = cur.getRc();
             }
         }
+        comparison.set(count);
         return false;
     }
 
     /**
-     * @return number of comparisons made in last call on the contains method.
+     * @return number of comparisons made in last call on the contains method by the calling thread.
      * @worst-time O(1)
      * @best-time O(1)
      */
     public int getRecentCompares() {
-        return comparison;
+        return comparison.get();
+    }
+
+    /**
+     * The method lookup(v) answers contains(v), getRecentCompares() and
+     * closeBy(v) with one search, and returns the answers together instead of
+     * keeping the count in the tree.
+     * @param v the value to search for
+     * @return the result of the search
+     * @worst-time O(logN)
+     * @best-time O(1)
+     */
+    public WordLookup lookup(String v) {
+        if (root.getData() == null) {
+            return new WordLookup(false, 0, null);
+        }
+        int count = 0;
+        RedBlackNode prev = root;
+        RedBlackNode cur = root;
+        while (cur != nulls) {
+            count++;
+            int c = v.compareTo(cur.getData());
+            if (c == 0) {
+                return new WordLookup(true, count, v);
+            }
+            prev = cur;
+            cur = c < 0 ? cur.getLc() : cur.getRc();
+        }
+        return new WordLookup(false, count, prev.getData());
     }
 
     /**
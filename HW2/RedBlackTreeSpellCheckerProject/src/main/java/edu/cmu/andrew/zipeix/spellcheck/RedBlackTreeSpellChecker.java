@@ -1,9 +1,21 @@
-import java.io.File;
+package edu.cmu.andrew.zipeix.spellcheck;
+
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 public class RedBlackTreeSpellChecker {
 
+    /**
+     * Number of corrections offered for a misspelled word.
+     */
+    private static final int SUGGESTIONS = 5;
+
     /**
      * Input the file name by command line.
      * @param args txt file name
@@ -17,24 +29,28 @@ public class RedBlackTreeSpellChecker {
         //= inputString.split(" ");
         System.out.println("Loading a tree of English words from " + args[0] + ".");
         RedBlackTree redBlackTree = new RedBlackTree();
-        Scanner scanner = null;
-        try {
-            scanner = new Scanner(new File(args[0]));
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                redBlackTree.insert(line);
+        try (BufferedReader reader = new BufferedReader(new FileReader(args[0]))) {
+            // bulk load: sorting an already sorted (or case-insensitively sorted) list is close to linear
+            ArrayList<String> words = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                words.add(line);
             }
+            words.sort(null);
+            redBlackTree = new RedBlackTree(words.iterator());
         } catch (FileNotFoundException e) {
             System.err.println("Cannot find the file");
-        } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+        } catch (IOException e) {
+            System.err.println("Cannot read the file");
         }
 
         System.out.println("Red Black Tree is loaded with " + redBlackTree.getSize() + " words.");
         System.out.println("Initial tree height is " + redBlackTree.height() + ".");
         System.out.println("Never worse than 2 * Lg(n + 1) = " + 2 * (Math.log(redBlackTree.getSize() + 1) / Math.log(2)) + ".");
+        // lookups search an array copy of the tree, frozen again after every >a
+        FrozenWordTree frozenTree = redBlackTree.freeze();
+        // built on the first misspelling, and again after >a adds a word
+        SuggestionIndex suggestionIndex = null;
         displayMenu();
 
         while (true) {
@@ -59,53 +75,46 @@ public class RedBlackTreeSpellChecker {
                 commandLine = inputString.split(" ");
                 if (commandLine.length == 2) {
                     if (commandLine[0].equals(">c")) {
-                        if (redBlackTree.contains(commandLine[1])) {
+                        WordLookup lookup = frozenTree.lookup(commandLine[1]);
+                        if (lookup.isFound()) {
                             System.out.println("Found "
                                     + commandLine[1]
                                     + " after "
-                                    + redBlackTree.getRecentCompares()
+                                    + lookup.getComparisons()
                                     + " comparisons");
                         } else {
                             System.out.println(commandLine[1] + " Not in dictionary. Perhaps you mean");
-                            System.out.println(redBlackTree.closeBy(commandLine[1]));
+                            if (suggestionIndex == null) {
+                                suggestionIndex = redBlackTree.suggestionIndex();
+                            }
+                            List<String> suggestions = suggestionIndex.suggest(commandLine[1], SUGGESTIONS);
+                            // nothing within two edits: fall back to the neighbour in the tree
+                            System.out.println(suggestions.isEmpty() ? lookup.getClosest() : String.join(", ", suggestions));
                         }
                     } else if (commandLine[0].equals(">a")) {
-                        if (redBlackTree.contains(commandLine[1])) {
+                        if (frozenTree.contains(commandLine[1])) {
                             System.out.println("The word '" + commandLine[1] + "'  is already in the dictionary.");
                         } else {
                             redBlackTree.insert(commandLine[1]);
+                            frozenTree = redBlackTree.freeze();
+                            suggestionIndex = null;
                             System.out.println(commandLine[1] + " was added to dictionary.");
                         }
                     } else if (commandLine[0].equals(">f")) {
                         try {
-                            scanner = new Scanner(new File(commandLine[1]));
-                            boolean allFound = true;
-                            while (scanner.hasNextLine()) {
-                                String line = scanner.nextLine();
-                                String[] wordsFromText = line.split("\\W");
-                                if (wordsFromText.length > 1) {
-                                    for (String word : wordsFromText) {
-                                        if (!word.equals("") && !redBlackTree.contains(word)) {
-                                            allFound = false;
-                                            System.out.println("'" + word + "' was not found in dictionary.");
-                                        }
-                                    }
-                                } else {
-                                    if (!redBlackTree.contains(line)) {
-                                        allFound = false;
-                                        System.out.println("'" + line + "' was not found in dictionary.");
-                                    }
-                                }
+                            ParallelSpellChecker checker = new ParallelSpellChecker(frozenTree, ParallelSpellChecker.DEFAULT_CHUNK_SIZE);
+                            ParallelSpellChecker.Report report = checker.check(commandLine[1]);
+                            for (ParallelSpellChecker.Misspelling misspelling : report.getMisspellings()) {
+                                System.out.println("'" + misspelling.getWord() + "' was not found in dictionary.");
                             }
-                            if (allFound) {
+                            if (report.getMisspellings().isEmpty()) {
                                 System.out.println("No spelling errors found.");
                             }
-                        } catch (FileNotFoundException e) {
+                            System.out.println(report);
+                        } catch (NoSuchFileException e) {
                             System.err.println("Cannot find the file");
-                        } finally {
-                            if (scanner != null) {
-                                scanner.close();
-                            }
+                        } catch (IOException e) {
+                            System.err.println("Cannot read the file");
                         }
                     } else {
                         System.out.println("Wrong Command");
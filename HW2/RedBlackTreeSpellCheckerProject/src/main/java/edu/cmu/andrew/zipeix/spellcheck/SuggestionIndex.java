@@ -0,0 +1,292 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the words of a dictionary within edit distance two of a misspelling,
+ * with a symmetric delete index: two strings are within two edits of each
+ * other only if deleting at most two chars from each makes them equal, so the
+ * index maps every string made by deleting up to two chars from a word to the
+ * word, and a search looks up the deletes of the misspelling instead of
+ * comparing it with every word.
+ * Only the first seven chars of a word are indexed, which keeps the deletes
+ * of a word to at most 29; the words sharing those seven chars are adjacent
+ * in sorted order and form one group, and the index maps the hash of each
+ * delete to the groups it comes from. The words of the groups found are
+ * candidates, and their real distance is computed to keep those within two.
+ * The distance is the optimal string alignment distance: insertions,
+ * deletions, substitutions and transpositions of adjacent chars cost one
+ * edit each.
+ * The index never changes after construction, so any number of threads may
+ * search it at once.
+ */
+public class SuggestionIndex {
+
+    /**
+     * Largest edit distance of a suggestion.
+     */
+    public static final int MAX_DISTANCE = 2;
+
+    /**
+     * Chars of each word that are indexed.
+     */
+    public static final int PREFIX_LENGTH = 7;
+
+    /**
+     * Deletes of a prefix: itself, one char removed, two chars removed.
+     */
+    private static final int MAX_DELETES = 1 + PREFIX_LENGTH + PREFIX_LENGTH * (PREFIX_LENGTH - 1) / 2;
+
+    /**
+     * Distinct words in ascending order.
+     */
+    private final String[] words;
+
+    /**
+     * Group g is words[groupStarts[g]] to words[groupStarts[g + 1] - 1], the words sharing a prefix.
+     */
+    private final int[] groupStarts;
+
+    /**
+     * Distinct String.hashCode values of the deletes of all prefixes, ascending.
+     */
+    private final int[] deleteHashes;
+
+    /**
+     * The groups with a delete of hash deleteHashes[i] are groups[deleteStarts[i]] to groups[deleteStarts[i + 1] - 1].
+     */
+    private final int[] deleteStarts;
+
+    private final int[] groups;
+
+    /**
+     * This constructor indexes words that are already sorted, such as the
+     * inorder traversal of a RedBlackTree. Repeated words are indexed once.
+     * @param sortedWords words in ascending String.compareTo order
+     * @throws IllegalArgumentException if a word is smaller than the word before it
+     * @worst-time O(NlogN)
+     * @best-time O(NlogN)
+     */
+    public SuggestionIndex(String[] sortedWords) {
+        int n = 0;
+        String[] distinct = new String[sortedWords.length];
+        for (int i = 0; i < sortedWords.length; i++) {
+            if (i > 0) {
+                int c = sortedWords[i].compareTo(sortedWords[i - 1]);
+                if (c < 0) {
+                    throw new IllegalArgumentException("Words are not sorted: " + sortedWords[i] + " after " + sortedWords[i - 1]);
+                }
+                if (c == 0) {
+                    continue;
+                }
+            }
+            distinct[n++] = sortedWords[i];
+        }
+        words = Arrays.copyOf(distinct, n);
+
+        int groupCount = 0;
+        int[] starts = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || !samePrefix(words[i - 1], words[i])) {
+                starts[groupCount++] = i;
+            }
+        }
+        starts[groupCount] = n;
+        groupStarts = Arrays.copyOf(starts, groupCount + 1);
+
+        // every (hash, group) pair in one long, so that sorting groups them by hash
+        long[] pairs = new long[groupCount * MAX_DELETES];
+        int count = 0;
+        int[] hashes = new int[MAX_DELETES];
+        for (int g = 0; g < groupCount; g++) {
+            int deletes = deletes(words[groupStarts[g]], hashes);
+            for (int d = 0; d < deletes; d++) {
+                pairs[count++] = (long) hashes[d] << 32 | g;
+            }
+        }
+        Arrays.sort(pairs, 0, count);
+
+        int[] keys = new int[count];
+        int[] keyStarts = new int[count + 1];
+        int[] values = new int[count];
+        int keyCount = 0;
+        int valueCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && pairs[i] == pairs[i - 1]) {
+                continue;
+            }
+            int hash = (int) (pairs[i] >> 32);
+            if (keyCount == 0 || keys[keyCount - 1] != hash) {
+                keys[keyCount] = hash;
+                keyStarts[keyCount++] = valueCount;
+            }
+            values[valueCount++] = (int) pairs[i];
+        }
+        keyStarts[keyCount] = valueCount;
+        deleteHashes = Arrays.copyOf(keys, keyCount);
+        deleteStarts = Arrays.copyOf(keyStarts, keyCount + 1);
+        groups = Arrays.copyOf(values, valueCount);
+    }
+
+    /**
+     * @return number of distinct words in the index.
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public int getSize() {
+        return words.length;
+    }
+
+    /**
+     * The method suggest(v, k) returns the words within MAX_DISTANCE edits of
+     * v, nearest first. Words at the same distance are ordered by how much
+     * their length differs from that of v, then alphabetically. If v is in
+     * the index it comes first, at distance zero.
+     * @param v the misspelled word
+     * @param k largest number of suggestions to return
+     * @return at most k suggestions, empty if no word is close enough
+     * @worst-time O(N)
+     * @best-time O(1)
+     */
+    public List<String> suggest(String v, int k) {
+        int[] hashes = new int[MAX_DELETES];
+        int deletes = deletes(v, hashes);
+        int[] candidates = new int[64];
+        int count = 0;
+        for (int d = 0; d < deletes; d++) {
+            int i = Arrays.binarySearch(deleteHashes, hashes[d]);
+            if (i < 0) {
+                continue;
+            }
+            int from = deleteStarts[i];
+            int to = deleteStarts[i + 1];
+            if (count + to - from > candidates.length) {
+                candidates = Arrays.copyOf(candidates, Math.max(2 * candidates.length, count + to - from));
+            }
+            System.arraycopy(groups, from, candidates, count, to - from);
+            count += to - from;
+        }
+        // a group matches once for every delete it shares with v
+        Arrays.sort(candidates, 0, count);
+
+        List<List<String>> byDistance = new ArrayList<>();
+        for (int d = 0; d <= MAX_DISTANCE; d++) {
+            byDistance.add(new ArrayList<>());
+        }
+        int[][] rows = new int[3][v.length() + 1];
+        for (int c = 0; c < count; c++) {
+            if (c > 0 && candidates[c] == candidates[c - 1]) {
+                continue;
+            }
+            int g = candidates[c];
+            for (int w = groupStarts[g]; w < groupStarts[g + 1]; w++) {
+                int distance = distance(v, words[w], MAX_DISTANCE, rows);
+                if (distance <= MAX_DISTANCE) {
+                    byDistance.get(distance).add(words[w]);
+                }
+            }
+        }
+
+        ArrayList<String> suggestions = new ArrayList<>();
+        Comparator<String> order = Comparator.comparingInt((String s) -> Math.abs(s.length() - v.length()))
+                .thenComparing(Comparator.naturalOrder());
+        for (List<String> sameDistance : byDistance) {
+            if (suggestions.size() >= k) {
+                break;
+            }
+            sameDistance.sort(order);
+            suggestions.addAll(sameDistance.subList(0, Math.min(sameDistance.size(), k - suggestions.size())));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Optimal string alignment distance of a and b, given up once it exceeds max.
+     * @param a the first string
+     * @param b the second string
+     * @param max largest distance of interest
+     * @param rows three rows of at least a.length() + 1 ints to work in
+     * @return the distance, or max + 1 if it is larger than max
+     */
+    public static int distance(String a, String b, int max, int[][] rows) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int[] before = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            char bc = b.charAt(i - 1);
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= n; j++) {
+                char ac = a.charAt(j - 1);
+                int d = Math.min(Math.min(previous[j], current[j - 1]) + 1, previous[j - 1] + (ac == bc ? 0 : 1));
+                if (i > 1 && j > 1 && ac == b.charAt(i - 2) && a.charAt(j - 2) == bc) {
+                    // transposition of the last two chars
+                    d = Math.min(d, before[j - 2] + 1);
+                }
+                current[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] t = before;
+            before = previous;
+            previous = current;
+            current = t;
+        }
+        // the last row can have a cell within max while its end is not
+        return Math.min(previous[n], max + 1);
+    }
+
+    /**
+     * Hash every string made by deleting up to two chars from the prefix of a word.
+     * The hashes equal String.hashCode of the deleted strings, without building them.
+     * @param word the word
+     * @param hashes at least MAX_DELETES ints to put the hashes in
+     * @return number of hashes, some of which may be equal
+     */
+    private static int deletes(String word, int[] hashes) {
+        int length = Math.min(word.length(), PREFIX_LENGTH);
+        int count = 0;
+        hashes[count++] = hash(word, length, -1, -1);
+        for (int i = 0; i < length; i++) {
+            hashes[count++] = hash(word, length, i, -1);
+            for (int j = i + 1; j < length; j++) {
+                hashes[count++] = hash(word, length, i, j);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return String.hashCode of the first length chars of word without the chars at skip1 and skip2
+     */
+    private static int hash(String word, int length, int skip1, int skip2) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            if (i != skip1 && i != skip2) {
+                h = 31 * h + word.charAt(i);
+            }
+        }
+        return h;
+    }
+
+    /**
+     * @return true if a and b have the same indexed prefix
+     */
+    private static boolean samePrefix(String a, String b) {
+        int length = Math.min(a.length(), PREFIX_LENGTH);
+        return length == Math.min(b.length(), PREFIX_LENGTH) && a.regionMatches(0, b, 0, length);
+    }
+}
@@ -0,0 +1,64 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+/**
+ * The result of one search in a word tree: whether the word was found, how
+ * many words it was compared with, and the closest word on the search path.
+ * A WordLookup is immutable, so unlike getRecentCompares() it can be handed
+ * between threads.
+ */
+public class WordLookup {
+
+    private final boolean found;
+    private final int comparisons;
+    private final String closest;
+
+    /**
+     * Construct a WordLookup.
+     * @param found true if the word is in the tree
+     * @param comparisons number of words the search compared the word with
+     * @param closest the word itself if found, otherwise the last word on the search path, null if the tree is empty
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public WordLookup(boolean found, int comparisons, String closest) {
+        this.found = found;
+        this.comparisons = comparisons;
+        this.closest = closest;
+    }
+
+    /**
+     * @return true if the word is in the tree, as contains() returns
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public boolean isFound() {
+        return found;
+    }
+
+    /**
+     * @return number of comparisons the search made, as getRecentCompares() returns after contains()
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public int getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * @return the value closeBy() returns for the same word
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public String getClosest() {
+        return closest;
+    }
+
+    /**
+     * @return the string representation of the lookup
+     * @worst-time O(1)
+     * @best-time O(1)
+     */
+    public String toString() {
+        return "[found = " + found + ": comparisons = " + comparisons + ": closest = " + closest + "]";
+    }
+}
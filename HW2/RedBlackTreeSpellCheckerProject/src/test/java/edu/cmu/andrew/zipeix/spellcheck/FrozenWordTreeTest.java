@@ -0,0 +1,134 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrozenWordTreeTest {
+
+    /**
+     * Chars around the packing limits: 0, ASCII, 510 and 511 on both sides
+     * of the 9-bit cap, and chars far above it.
+     */
+    private static final char[] CHARS = {'\u0000', 'a', 'b', 'z', 'A', '\'', '\u00E9', '\u01FE', '\u01FF', '\u0200', '\u4E2D', '\uFFFF'};
+
+    /**
+     * Seven chars shared by many of the words, so that their prefixes are
+     * equal and the full comparison decides.
+     */
+    private static final String SHARED = "abcdefg";
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        if (random.nextInt(3) == 0) {
+            word.append(SHARED, 0, 4 + random.nextInt(4));
+        }
+        for (int n = random.nextInt(11); n > 0; n--) {
+            word.append(random.nextInt(3) == 0 ? CHARS[random.nextInt(CHARS.length)] : (char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    private static TreeSet<String> words(int size, long seed) {
+        Random random = new Random(seed);
+        TreeSet<String> words = new TreeSet<>();
+        words.add("");
+        words.add(SHARED);
+        words.add(SHARED + "a");
+        words.add(SHARED + "\u0000");
+        words.add(SHARED + "\uFFFF");
+        words.add("ab\u0200");
+        words.add("ab\u0200b");
+        words.add("ab\u4E2Da");
+        while (words.size() < size) {
+            words.add(randomWord(random));
+        }
+        return words;
+    }
+
+    private static void check(TreeSet<String> words, boolean sameShape) {
+        RedBlackTree tree = new RedBlackTree(words.iterator());
+        FrozenWordTree frozen = tree.freeze();
+        assertEquals(words.size(), frozen.getSize());
+        for (String word : words) {
+            assertTrue(frozen.contains(word), word);
+            assertEquals(word, frozen.closeBy(word));
+            assertTrue(frozen.lookup(word).isFound(), word);
+        }
+        Random random = new Random(words.size());
+        List<String> misses = new ArrayList<>();
+        for (String word : words) {
+            misses.add(word + "\u0000");
+            misses.add(word + "a");
+            misses.add(word + "\uFFFF");
+            if (!word.isEmpty()) {
+                misses.add(word.substring(0, word.length() - 1) + (char) (word.charAt(word.length() - 1) + 1));
+            }
+        }
+        for (int i = 0; i < 2000; i++) {
+            misses.add(randomWord(random));
+        }
+        for (String v : misses) {
+            boolean found = words.contains(v);
+            assertEquals(found, frozen.contains(v), v);
+            assertEquals(tree.contains(v), frozen.contains(v), v);
+            assertEquals(found, frozen.lookup(v).isFound(), v);
+            String close = frozen.closeBy(v);
+            if (found) {
+                assertEquals(v, close);
+            } else {
+                // the last word on the search path is a neighbour of v
+                assertTrue(close.equals(words.lower(v)) || close.equals(words.higher(v)), v + " -> " + close);
+                assertEquals(close, frozen.lookup(v).getClosest());
+            }
+            if (sameShape) {
+                assertEquals(tree.closeBy(v), close, v);
+            }
+        }
+    }
+
+    /**
+     * Trees of 2^k - 1 words are perfect, so the bulk-loaded RedBlackTree and
+     * the Eytzinger layout have the same shape and closeBy the same answers.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {15, 255, 4095})
+    void perfectTreesMatchRedBlackTree(int size) {
+        check(words(size, size), true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 9, 100, 256, 3000})
+    void otherSizesFindTheSameWords(int size) {
+        check(words(size, size), false);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3})
+    void tinyTrees(int size) {
+        TreeSet<String> words = new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            words.add(SHARED + (char) ('a' + i));
+        }
+        FrozenWordTree frozen = new RedBlackTree(words.iterator()).freeze();
+        assertEquals(size, frozen.getSize());
+        assertFalse(frozen.contains(SHARED));
+        for (String word : words) {
+            assertTrue(frozen.contains(word));
+        }
+        if (size == 0) {
+            assertNull(frozen.closeBy(SHARED));
+        } else {
+            assertEquals(words.first(), frozen.closeBy(SHARED));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelSpellCheckerTest {
+
+    private static final String[] WORDS = {"a", "an", "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog",
+        "It", "s", "x_1", "42"};
+
+    private static final int[] CHUNK_SIZES = {1, 2, 3, 5, 16, ParallelSpellChecker.DEFAULT_CHUNK_SIZE};
+
+    private static final Pattern WORD = Pattern.compile("\\w+");
+
+    @TempDir
+    Path directory;
+
+    private static FrozenWordTree dictionary() {
+        return new RedBlackTree(new TreeSet<>(Arrays.asList(WORDS)).iterator()).freeze();
+    }
+
+    /**
+     * The misspellings the >f command found before ParallelSpellChecker: every
+     * line split with \W, each non-empty piece looked up. The pieces are the
+     * \w+ runs of the line, found here with a Matcher to get their offsets.
+     * @return word, line and offset of each misspelling, one string each
+     */
+    private static List<String> splitMisspellings(byte[] file, FrozenWordTree dictionary) {
+        String text = new String(file, StandardCharsets.ISO_8859_1);
+        List<String> found = new ArrayList<>();
+        int lineStart = 0;
+        int lineNumber = 1;
+        while (lineStart <= text.length()) {
+            int end = text.indexOf('\n', lineStart);
+            String line = text.substring(lineStart, end < 0 ? text.length() : end);
+            List<String> pieces = new ArrayList<>();
+            for (String piece : line.split("\\W")) {
+                if (!piece.isEmpty()) {
+                    pieces.add(piece);
+                }
+            }
+            Matcher m = WORD.matcher(line);
+            List<String> runs = new ArrayList<>();
+            while (m.find()) {
+                runs.add(m.group());
+                if (!dictionary.contains(m.group())) {
+                    found.add(m.group() + "@" + lineNumber + ":" + (lineStart + m.start()));
+                }
+            }
+            assertEquals(pieces, runs);
+            if (end < 0) {
+                break;
+            }
+            lineStart = end + 1;
+            lineNumber++;
+        }
+        return found;
+    }
+
+    private List<String> parallelMisspellings(byte[] file, FrozenWordTree dictionary, int chunkSize) throws IOException {
+        Path path = directory.resolve("text.txt");
+        Files.write(path, file);
+        ParallelSpellChecker.Report report = new ParallelSpellChecker(dictionary, chunkSize).check(path.toString());
+        assertEquals(file.length, report.getBytes());
+        List<String> found = new ArrayList<>();
+        for (ParallelSpellChecker.Misspelling m : report.getMisspellings()) {
+            found.add(m.getWord() + "@" + m.getLine() + ":" + m.getOffset());
+        }
+        return found;
+    }
+
+    private void assertSameAsSplit(String text) throws IOException {
+        byte[] file = text.getBytes(StandardCharsets.ISO_8859_1);
+        FrozenWordTree dictionary = dictionary();
+        List<String> expected = splitMisspellings(file, dictionary);
+        for (int chunkSize : CHUNK_SIZES) {
+            assertEquals(expected, parallelMisspellings(file, dictionary, chunkSize), "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    void wordsAcrossChunkBoundariesWithCrlfAndNoTrailingNewline() throws IOException {
+        assertSameAsSplit("The quick brown fox\r\n"
+                + "jumps ovre the lazy dgo.\r\n"
+                + "\r\n"
+                + "  supercalifragilistic, an extraordinarily-long wrod\r\n"
+                + "It's x_1 and 42 and x_2\r\n"
+                + "été café dog\r\n"
+                + "last lien");
+    }
+
+    @Test
+    void edgesOfTheFile() throws IOException {
+        assertSameAsSplit("");
+        assertSameAsSplit("a");
+        assertSameAsSplit("zz");
+        assertSameAsSplit("misspelledwordlongerthanthechunk");
+        assertSameAsSplit("\n\n\r\n");
+        assertSameAsSplit("dog\n");
+        assertSameAsSplit(".fox,,foxx!");
+    }
+
+    @Test
+    void randomDocuments() throws IOException {
+        Random random = new Random(24);
+        String[] separators = {" ", " ", ", ", ". ", "\n", "\r\n", "-", "'", "\t", " "};
+        for (int document = 0; document < 20; document++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = random.nextInt(200); w > 0; w--) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                if (random.nextInt(5) == 0) {
+                    word = word + (char) ('a' + random.nextInt(26));
+                }
+                if (random.nextInt(20) == 0) {
+                    word = word.repeat(8);
+                }
+                text.append(word).append(separators[random.nextInt(separators.length)]);
+            }
+            if (random.nextBoolean() && text.length() > 0) {
+                text.setLength(text.length() - 1);
+            }
+            assertSameAsSplit(text.toString());
+        }
+    }
+}
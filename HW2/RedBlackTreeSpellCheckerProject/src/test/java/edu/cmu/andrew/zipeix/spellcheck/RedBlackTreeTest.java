@@ -0,0 +1,131 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedBlackTreeTest {
+
+    private static List<String> sortedKeys(int size) {
+        List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(String.format("w%06d", i));
+        }
+        return keys;
+    }
+
+    private static List<String> inorder(RedBlackTree tree) {
+        List<String> words = new ArrayList<>();
+        if (tree.root.getData() != null) {
+            inorder(tree.root, words);
+        }
+        return words;
+    }
+
+    private static void inorder(RedBlackNode t, List<String> words) {
+        if (t != RedBlackTree.nulls) {
+            inorder(t.getLc(), words);
+            words.add(t.getData());
+            inorder(t.getRc(), words);
+        }
+    }
+
+    /**
+     * Check the red-black properties below t and the parent links.
+     * @return number of black nodes on every path from t down to the sentinel, the sentinel included
+     */
+    private static int blackHeight(RedBlackNode t) {
+        if (t == RedBlackTree.nulls) {
+            return 1;
+        }
+        for (RedBlackNode child : new RedBlackNode[] {t.getLc(), t.getRc()}) {
+            if (child != RedBlackTree.nulls) {
+                assertSame(t, child.getP(), "parent of " + child.getData());
+                if (t.getColor() == RedBlackTree.RED) {
+                    assertEquals(RedBlackTree.BLACK, child.getColor(), "red " + t.getData() + " has a red child");
+                }
+            }
+        }
+        int left = blackHeight(t.getLc());
+        int right = blackHeight(t.getRc());
+        assertEquals(left, right, "black heights below " + t.getData());
+        return left + (t.getColor() == RedBlackTree.BLACK ? 1 : 0);
+    }
+
+    private static void assertRedBlack(RedBlackTree tree) {
+        if (tree.root.getData() == null) {
+            return;
+        }
+        assertEquals(RedBlackTree.BLACK, tree.root.getColor(), "root color");
+        assertSame(RedBlackTree.nulls, tree.root.getP(), "parent of the root");
+        blackHeight(tree.root);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 4, 7, 8, 15, 16, 31, 32, 63, 64, 1023, 1024, 1025, 1000})
+    void bulkLoadIsRedBlackAndMatchesInsert(int size) {
+        List<String> keys = sortedKeys(size);
+        RedBlackTree loaded = new RedBlackTree(keys.iterator());
+        assertEquals(size, loaded.getSize());
+        assertRedBlack(loaded);
+
+        List<String> shuffled = new ArrayList<>(keys);
+        Collections.shuffle(shuffled, new Random(size));
+        RedBlackTree inserted = new RedBlackTree();
+        for (String key : shuffled) {
+            inserted.insert(key);
+        }
+        assertRedBlack(inserted);
+        assertEquals(inorder(inserted), inorder(loaded));
+        assertEquals(keys, inorder(loaded));
+
+        // a balanced tree of n keys has no path longer than 2 lg(n + 1)
+        assertTrue(loaded.height() <= 2 * (32 - Integer.numberOfLeadingZeros(size)), "height " + loaded.height());
+        for (String key : keys) {
+            assertTrue(loaded.contains(key), key);
+        }
+        if (size == 0) {
+            assertNull(loaded.root.getData());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 7, 8, 100})
+    void bulkLoadedTreeStaysRedBlackUnderInsert(int size) {
+        RedBlackTree tree = new RedBlackTree(sortedKeys(size).iterator());
+        List<String> added = new ArrayList<>();
+        Random random = new Random(size);
+        for (int i = 0; i < 200; i++) {
+            String key = String.format("w%06d", random.nextInt(2 * size + 10)) + (char) ('a' + random.nextInt(3));
+            added.add(key);
+            tree.insert(key);
+            assertRedBlack(tree);
+        }
+        List<String> expected = sortedKeys(size);
+        expected.addAll(added);
+        Collections.sort(expected);
+        assertEquals(expected, inorder(tree));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 7, 16})
+    void bulkLoadKeepsEqualKeys(int size) {
+        List<String> keys = new ArrayList<>();
+        for (String key : sortedKeys(size)) {
+            keys.add(key);
+            keys.add(key);
+        }
+        RedBlackTree tree = new RedBlackTree(keys.iterator());
+        assertRedBlack(tree);
+        assertEquals(keys, inorder(tree));
+    }
+}
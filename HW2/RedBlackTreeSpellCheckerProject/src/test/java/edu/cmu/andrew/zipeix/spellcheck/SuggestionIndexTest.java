@@ -0,0 +1,173 @@
+package edu.cmu.andrew.zipeix.spellcheck;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestionIndexTest {
+
+    private static final String ALPHABET = "abcde";
+
+    private static String randomWord(Random random, int minLength, int maxLength) {
+        StringBuilder word = new StringBuilder();
+        for (int n = minLength + random.nextInt(maxLength - minLength + 1); n > 0; n--) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Small alphabet, so many words share their first seven chars and many
+     * are within two edits of each other.
+     */
+    private static String[] dictionary(Random random) {
+        TreeSet<String> words = new TreeSet<>();
+        words.add("a");
+        words.add("abcdefgh");
+        words.add("abcdefghij");
+        words.add("xabcdefgh");
+        while (words.size() < 4000) {
+            words.add(randomWord(random, 1, 12));
+        }
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * One random insertion, deletion, substitution or transposition.
+     */
+    private static String edit(String word, Random random) {
+        StringBuilder b = new StringBuilder(word);
+        char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        switch (b.length() < 2 ? 0 : random.nextInt(4)) {
+            case 0:
+                b.insert(random.nextInt(b.length() + 1), c);
+                break;
+            case 1:
+                b.deleteCharAt(random.nextInt(b.length()));
+                break;
+            case 2:
+                b.setCharAt(random.nextInt(b.length()), c);
+                break;
+            default:
+                swap(b, random.nextInt(b.length() - 1));
+        }
+        return b.toString();
+    }
+
+    private static String swap(StringBuilder b, int at) {
+        char t = b.charAt(at);
+        b.setCharAt(at, b.charAt(at + 1));
+        b.setCharAt(at + 1, t);
+        return b.toString();
+    }
+
+    /**
+     * Optimal string alignment distance from the full table, without the early exit.
+     */
+    private static int referenceDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                    continue;
+                }
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j], d[i][j - 1]) + 1, d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    /**
+     * Every word within MAX_DISTANCE of v, in the order suggest promises.
+     */
+    private static List<String> bruteForce(String[] words, String v) {
+        List<String> found = new ArrayList<>();
+        for (String word : words) {
+            if (referenceDistance(v, word) <= SuggestionIndex.MAX_DISTANCE) {
+                found.add(word);
+            }
+        }
+        found.sort(Comparator.comparingInt((String s) -> referenceDistance(v, s))
+                .thenComparingInt(s -> Math.abs(s.length() - v.length()))
+                .thenComparing(Comparator.naturalOrder()));
+        return found;
+    }
+
+    @Test
+    void distanceMatchesTheFullTable() {
+        Random random = new Random(7);
+        int[][] rows = new int[3][32];
+        for (int i = 0; i < 20000; i++) {
+            String a = randomWord(random, 0, 10);
+            String b = random.nextBoolean() ? edit(edit(a, random), random) : randomWord(random, 0, 10);
+            int expected = referenceDistance(a, b);
+            assertEquals(Math.min(expected, SuggestionIndex.MAX_DISTANCE + 1),
+                    SuggestionIndex.distance(a, b, SuggestionIndex.MAX_DISTANCE, rows), a + " " + b);
+        }
+    }
+
+    @Test
+    void suggestFindsEveryWordWithinTwoEdits() {
+        Random random = new Random(25);
+        String[] words = dictionary(random);
+        SuggestionIndex index = new SuggestionIndex(words);
+        List<String> queries = new ArrayList<>();
+        queries.add("");
+        queries.add("abcdefhg");
+        queries.add("abcdegfh");
+        queries.add("abcdefgih");
+        queries.add("yxabcdefgh");
+        queries.add("bcdefgh");
+        for (int i = 0; i < 600; i++) {
+            String word = words[random.nextInt(words.length)];
+            switch (i % 6) {
+                case 0:
+                    // insertion at position 0, which shifts every indexed char
+                    queries.add(ALPHABET.charAt(random.nextInt(ALPHABET.length())) + word);
+                    break;
+                case 1:
+                    // transposition at the boundary of the indexed prefix
+                    if (word.length() >= 8) {
+                        queries.add(swap(new StringBuilder(word), 6));
+                        queries.add(swap(new StringBuilder(word), 5));
+                        queries.add(swap(new StringBuilder(word), Math.min(7, word.length() - 2)));
+                    }
+                    break;
+                case 2:
+                    queries.add(edit(word, random));
+                    break;
+                case 3:
+                    queries.add(edit(edit(word, random), random));
+                    break;
+                case 4:
+                    queries.add(word);
+                    break;
+                default:
+                    queries.add(randomWord(random, 0, 14));
+            }
+        }
+        for (String v : queries) {
+            List<String> expected = bruteForce(words, v);
+            assertEquals(expected, index.suggest(v, Integer.MAX_VALUE), v);
+            assertEquals(expected.subList(0, Math.min(3, expected.size())), index.suggest(v, 3), v);
+        }
+    }
+
+    @Test
+    void repeatedWordsAreSuggestedOnce() {
+        SuggestionIndex index = new SuggestionIndex(new String[] {"abc", "abc", "abd", "abd", "abd"});
+        assertEquals(2, index.getSize());
+        assertEquals(List.of("abc", "abd"), index.suggest("abc", 10));
+    }
+}
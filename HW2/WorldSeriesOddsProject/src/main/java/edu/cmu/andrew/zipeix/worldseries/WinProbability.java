@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.worldseries;
+
 public class WinProbability {
     /**
      * P(2,3)    = _____    _______
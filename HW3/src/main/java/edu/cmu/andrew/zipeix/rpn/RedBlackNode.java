@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.rpn;
+
 import java.math.BigInteger;
 
 public class RedBlackNode {
@@ -1,3 +1,7 @@
+package edu.cmu.andrew.zipeix.rpn;
+
+import edu.cmu.andrew.zipeix.collections.DynamicStack;
+
 import java.math.BigInteger;
 
 public class RedBlackTree {
@@ -0,0 +1,47 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+/**
+ * The codeword table used by LZW compression.
+ * Every entry beyond the 256 single-byte symbols is a phrase made of an
+ * existing entry (the prefix code) followed by one more byte, so a lookup
+ * never needs the phrase itself.
+ */
+public interface CodeWordDictionary {
+
+    /**
+     * Drop every phrase longer than one byte.
+     * Codes 0 to 255 always stand for the single byte with that value.
+     */
+    void reset();
+
+    /**
+     * Look up the phrase made of prefixCode followed by nextByte.
+     * @param prefixCode code of the phrase read so far
+     * @param nextByte next input byte, 0 to 255
+     * @return code of the longer phrase, or -1 if it is not in the table
+     */
+    int get(int prefixCode, int nextByte);
+
+    /**
+     * Enter the phrase made of prefixCode followed by nextByte.
+     * @param prefixCode code of the phrase read so far
+     * @param nextByte next input byte, 0 to 255
+     * @param code code given to the new phrase
+     */
+    void put(int prefixCode, int nextByte, int code);
+
+    /**
+     * Look up the phrase made of prefixCode followed by nextByte, and enter it
+     * with the given code if it is not in the table, in a single lookup.
+     * @param prefixCode code of the phrase read so far
+     * @param nextByte next input byte, 0 to 255
+     * @param code code given to the phrase if it is new
+     * @return code of the phrase already in the table, or -1 if it has just been entered
+     */
+    int getOrAdd(int prefixCode, int nextByte, int code);
+
+    /**
+     * @return number of stored entries compared with a key by lookups so far, for LZWStatistics
+     */
+    long probes();
+}
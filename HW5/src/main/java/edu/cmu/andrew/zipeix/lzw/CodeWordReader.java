@@ -0,0 +1,117 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Unpacks LZW codewords written by CodeWordWriter.
+ * Input is read into a byte buffer in blocks and shifted into an int
+ * accumulator, so no Strings are created per codeword.
+ */
+public class CodeWordReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private InputStream in;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * Bits that have been read but not yet returned as part of a codeword.
+     * Only the lowest bitCount bits are meaningful.
+     */
+    private int bitBuffer;
+
+    private int bitCount;
+
+    /**
+     * Bytes read from the underlying stream and the time it took.
+     */
+    private long bytesRead;
+    private long readNanos;
+
+    /**
+     * Constructor with the stream the packed bytes are read from.
+     * @param in source stream
+     */
+    public CodeWordReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Read from another stream from now on, as if the reader had just been created.
+     * Buffered bytes and pending bits are dropped; the counters keep counting.
+     * @param in source stream
+     */
+    public void setInput(InputStream in) {
+        this.in = in;
+        position = 0;
+        limit = 0;
+        bitBuffer = 0;
+        bitCount = 0;
+    }
+
+    /**
+     * Look at the next byte without reading it, on a byte boundary such as the start of a stream.
+     * @return the byte, 0 to 255, or -1 at the end of the input
+     * @throws IOException read exception
+     */
+    public int peekByte() throws IOException {
+        if (position == limit && !fillBuffer()) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    /**
+     * Read the next codeword.
+     * Padding bits at the end of the input are never returned as a codeword.
+     * @param width number of bits used for the codeword (at most 24)
+     * @return the codeword, or -1 if fewer than width bits are left
+     * @throws IOException read exception
+     */
+    public int readCode(int width) throws IOException {
+        while (bitCount < width) {
+            if (position == limit && !fillBuffer()) {
+                return -1;
+            }
+            bitBuffer = (bitBuffer << 8) | (buffer[position++] & 0xFF);
+            bitCount += 8;
+        }
+        bitCount -= width;
+        int code = bitBuffer >>> bitCount;
+        bitBuffer &= (1 << bitCount) - 1;
+        return code;
+    }
+
+    /**
+     * @return bytes read from the underlying stream so far
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return nanoseconds spent in reads from the underlying stream so far
+     */
+    public long readNanos() {
+        return readNanos;
+    }
+
+    private boolean fillBuffer() throws IOException {
+        long start = System.nanoTime();
+        int n = in.read(buffer, 0, buffer.length);
+        readNanos += System.nanoTime() - start;
+        if (n <= 0) {
+            return false;
+        }
+        bytesRead += n;
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,120 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Packs LZW codewords into bytes, most significant bit first.
+ * Bits are shifted into an int accumulator and every completed byte is
+ * moved into a byte buffer, so no Strings are created per codeword.
+ * With 12-bit codes two codewords fill exactly three bytes, and a trailing
+ * odd codeword is padded with four zero bits.
+ */
+public class CodeWordWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private OutputStream out;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+
+    /**
+     * Bits that have not yet been moved into the byte buffer.
+     * Only the lowest bitCount bits are meaningful.
+     */
+    private int bitBuffer;
+
+    private int bitCount;
+
+    /**
+     * Bytes written to the underlying stream and the time it took.
+     */
+    private long bytesWritten;
+    private long writeNanos;
+
+    /**
+     * Constructor with the stream the packed bytes are written to.
+     * @param out destination stream
+     */
+    public CodeWordWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Write to another stream from now on, as if the writer had just been created.
+     * Buffered bytes and pending bits are dropped; the counters keep counting.
+     * @param out destination stream
+     */
+    public void setOutput(OutputStream out) {
+        this.out = out;
+        position = 0;
+        bitBuffer = 0;
+        bitCount = 0;
+    }
+
+    /**
+     * Append one codeword.
+     * @param code codeword, must fit in width bits
+     * @param width number of bits used for the codeword (at most 24)
+     * @throws IOException write exception
+     */
+    public void writeCode(int code, int width) throws IOException {
+        bitBuffer = (bitBuffer << width) | code;
+        bitCount += width;
+        while (bitCount >= 8) {
+            bitCount -= 8;
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) (bitBuffer >>> bitCount);
+        }
+        bitBuffer &= (1 << bitCount) - 1;
+    }
+
+    /**
+     * Pad the pending bits with zeros up to a byte boundary and write
+     * everything buffered so far to the underlying stream.
+     * @throws IOException write exception
+     */
+    public void finish() throws IOException {
+        if (bitCount > 0) {
+            writeCode(0, 8 - bitCount);
+        }
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Write every completed byte to the underlying stream and flush it.
+     * Bits that do not fill a byte yet are kept.
+     * @throws IOException write exception
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * @return bytes written to the underlying stream so far
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return nanoseconds spent in writes to the underlying stream so far
+     */
+    public long writeNanos() {
+        return writeNanos;
+    }
+
+    private void flushBuffer() throws IOException {
+        long start = System.nanoTime();
+        out.write(buffer, 0, position);
+        writeNanos += System.nanoTime() - start;
+        bytesWritten += position;
+        position = 0;
+    }
+}
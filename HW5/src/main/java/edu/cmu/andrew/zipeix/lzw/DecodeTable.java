@@ -0,0 +1,46 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The codeword table used by LZW decompression.
+ * Every entry beyond the 256 single-byte symbols is the phrase of an
+ * existing entry (the prefix code) followed by one more byte.
+ */
+public interface DecodeTable {
+
+    /**
+     * Drop every phrase longer than one byte.
+     * Codes 0 to 255 always stand for the single byte with that value.
+     */
+    void reset();
+
+    /**
+     * @param code code to check
+     * @return true if the code has a phrase in the table
+     */
+    boolean contains(int code);
+
+    /**
+     * @param code code in the table
+     * @return first byte of the phrase, 0 to 255
+     */
+    int firstByte(int code);
+
+    /**
+     * Enter the phrase of prefixCode followed by lastByte.
+     * @param prefixCode code already in the table
+     * @param lastByte byte appended to the prefix phrase, 0 to 255
+     * @param code code given to the new phrase
+     */
+    void put(int prefixCode, int lastByte, int code);
+
+    /**
+     * Write the phrase of a code.
+     * @param code code in the table
+     * @param out destination stream
+     * @throws IOException write exception
+     */
+    void write(int code, OutputStream out) throws IOException;
+}
@@ -0,0 +1,503 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Many files LZW compressed into one archive with a central directory, so a
+ * directory tree is compressed by one JVM and any file can be extracted on
+ * its own without decoding the others.
+ * Files are compressed on ForkJoinPool workers, one file per task, each
+ * task borrowing an LZWCompression copy of the settings from this archive's
+ * idle codecs and returning it when done; at most window
+ * files are held in memory at once, and files of LARGE_FILE bytes or more are
+ * compressed straight into the archive on the calling thread.
+ *
+ * File layout:
+ *   byte ARCHIVE_HEADER
+ *   for every file: its compressed bytes, a complete LZWCompression stream
+ *                   in the format chosen on the settings, header included
+ *   central directory: for every file its UTF path relative to the archived
+ *                      directory with '/' separators, the long file offset and
+ *                      long length of its compressed bytes, its long length and
+ *                      the int CRC32C of its bytes
+ *   long file offset of the central directory
+ *   int number of files
+ *   int CRC32C of the central directory, from the first path up to the number of files
+ */
+public class LZWArchive {
+
+    /**
+     * First byte of an archive. Single stream files start with a byte below 0x10 or at least 0x80.
+     */
+    public static final int ARCHIVE_HEADER = 0x41;
+
+    /**
+     * Files at least this long are not read into memory but compressed on the calling thread.
+     */
+    static final long LARGE_FILE = 16 << 20;
+
+    /**
+     * Bytes of the smallest directory entry: an empty UTF path, three longs and an int.
+     */
+    private static final int MIN_ENTRY_BYTES = 2 + 8 + 8 + 8 + 4;
+
+    /**
+     * Bytes of the directory after its entries: the long directory offset and the int number of files.
+     */
+    private static final int DIRECTORY_END_BYTES = 8 + 4;
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * At most this many files are compressed or extracted at once.
+     */
+    private final int window = 2 * pool.getParallelism();
+
+    private final LZWCompression settings;
+
+    /**
+     * Copies of the settings not in use by a task, so their streams and tables
+     * are reused from one file to the next. There are never more than the
+     * number of files handled at once, and they go away with the archive.
+     */
+    private final ConcurrentLinkedQueue<LZWCompression> codecs = new ConcurrentLinkedQueue<>();
+
+    /**
+     * One file of an archive, as listed in the central directory.
+     */
+    public static class Entry {
+        private final String name;
+        private final long offset;
+        private final long compressedLength;
+        private final long length;
+        private final int crc;
+
+        Entry(String name, long offset, long compressedLength, long length, int crc) {
+            this.name = name;
+            this.offset = offset;
+            this.compressedLength = compressedLength;
+            this.length = length;
+            this.crc = crc;
+        }
+
+        /**
+         * @return path relative to the archived directory, with '/' separators
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return length of the file
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * @return length of the compressed bytes of the file in the archive
+         */
+        public long getCompressedLength() {
+            return compressedLength;
+        }
+    }
+
+    /**
+     * Compressed bytes of a file not yet written to the archive.
+     */
+    private static class Member {
+        private final String name;
+        private final byte[] data;
+        private final long length;
+        private final int crc;
+
+        Member(String name, byte[] data, long length, int crc) {
+            this.name = name;
+            this.data = data;
+            this.length = length;
+            this.crc = crc;
+        }
+    }
+
+    /**
+     * Constructor.
+     * @param settings tables and format used for every file; the block size is not used,
+     *                 since the files themselves are compressed in parallel
+     */
+    public LZWArchive(LZWCompression settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Compress every regular file under a directory into an archive, in the
+     * order of their paths. A single file is archived under its name.
+     * @param directoryName directory to be archived, or a single file
+     * @param archiveName archive file
+     * @throws IOException read/write exception
+     */
+    public void create(String directoryName, String archiveName) throws IOException {
+        Path root = Paths.get(directoryName).toAbsolutePath().normalize();
+        // every regular file with its size, from one stat each, in path order
+        TreeMap<Path, Long> sizes = new TreeMap<>();
+        if (Files.isRegularFile(root)) {
+            sizes.put(root, Files.size(root));
+            root = root.getParent();
+        } else {
+            Path archive = Paths.get(archiveName).toAbsolutePath().normalize();
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                    if (attributes.isSymbolicLink()) {
+                        // archived as the file it links to, as Files.isRegularFile would
+                        attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    }
+                    if (attributes.isRegularFile() && !file.equals(archive)) {
+                        sizes.put(file, attributes.size());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        List<Map.Entry<Path, Long>> files = new ArrayList<>(sizes.entrySet());
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(
+                        new FileOutputStream(archiveName), 1 << 16))) {
+            output.writeByte(ARCHIVE_HEADER);
+            ArrayList<Entry> entries = new ArrayList<>();
+            long offset = 1;
+            ArrayDeque<ForkJoinTask<Member>> pending = new ArrayDeque<>();
+            int next = 0;
+            while (next < files.size() || !pending.isEmpty()) {
+                Path file = next < files.size() ? files.get(next).getKey() : null;
+                String name = file == null ? null : name(root, file);
+                boolean large = file != null && files.get(next).getValue() >= LARGE_FILE;
+                if (file != null && !large && pending.size() < window) {
+                    pending.add(pool.submit(() -> compressFile(file, name)));
+                    next++;
+                } else if (!pending.isEmpty()) {
+                    Member member = ParallelLZWCompression.await(pending.remove());
+                    output.write(member.data);
+                    entries.add(new Entry(member.name, offset, member.data.length, member.length, member.crc));
+                    offset += member.data.length;
+                } else {
+                    // every file before it has been written
+                    Entry entry = compressLargeFile(file, name, offset, output);
+                    entries.add(entry);
+                    offset += entry.compressedLength;
+                    next++;
+                }
+            }
+            ByteArrayOutputStream directoryBytes = new ByteArrayOutputStream();
+            DataOutputStream directory = new DataOutputStream(directoryBytes);
+            for (Entry entry : entries) {
+                directory.writeUTF(entry.name);
+                directory.writeLong(entry.offset);
+                directory.writeLong(entry.compressedLength);
+                directory.writeLong(entry.length);
+                directory.writeInt(entry.crc);
+            }
+            directory.writeLong(offset);
+            directory.writeInt(entries.size());
+            byte[] bytes = directoryBytes.toByteArray();
+            output.write(bytes);
+            output.writeInt(ParallelLZWCompression.crc(bytes, 0, bytes.length));
+        }
+    }
+
+    /**
+     * @param archiveName archive file
+     * @return the files in the archive, in archive order
+     * @throws IOException read exception, or the file is not an archive or is corrupt
+     */
+    public List<Entry> list(String archiveName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(archiveName), StandardOpenOption.READ)) {
+            return readDirectory(channel);
+        }
+    }
+
+    /**
+     * Extract every file of an archive under a directory, in parallel.
+     * @param archiveName archive file
+     * @param directoryName directory the paths of the archive are resolved against
+     * @throws IOException read/write exception, the archive is corrupt, or a path
+     *                     leads outside the directory
+     */
+    public void extract(String archiveName, String directoryName) throws IOException {
+        Path root = Paths.get(directoryName);
+        try (FileChannel channel = FileChannel.open(Paths.get(archiveName), StandardOpenOption.READ)) {
+            ArrayDeque<ForkJoinTask<Void>> pending = new ArrayDeque<>();
+            for (Entry entry : readDirectory(channel)) {
+                Path target = target(root, entry.name);
+                if (pending.size() == window) {
+                    ParallelLZWCompression.await(pending.remove());
+                }
+                pending.add(pool.submit(() -> {
+                    Files.createDirectories(target.getParent());
+                    extractFile(channel, entry, target);
+                    return null;
+                }));
+            }
+            while (!pending.isEmpty()) {
+                ParallelLZWCompression.await(pending.remove());
+            }
+        }
+    }
+
+    /**
+     * Extract one file of an archive. Only its compressed bytes are read and decoded.
+     * @param archiveName archive file
+     * @param entryName path of the file in the archive, with '/' separators
+     * @param outputFileName extracted file
+     * @throws IOException read/write exception, the archive is corrupt, or it has no such file
+     */
+    public void extract(String archiveName, String entryName, String outputFileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(archiveName), StandardOpenOption.READ)) {
+            for (Entry entry : readDirectory(channel)) {
+                if (entry.name.equals(entryName)) {
+                    extractFile(channel, entry, Paths.get(outputFileName));
+                    return;
+                }
+            }
+        }
+        throw new FileNotFoundException(entryName + " is not in the LZW archive " + archiveName);
+    }
+
+    private Member compressFile(Path file, String name) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2 + 16);
+        LZWCompression codec = takeCodec();
+        try {
+            codec.compress(new ByteArrayInputStream(data), compressed);
+        } finally {
+            codecs.add(codec);
+        }
+        return new Member(name, compressed.toByteArray(), data.length, ParallelLZWCompression.crc(data, 0, data.length));
+    }
+
+    /**
+     * Compress a file straight into the archive.
+     * @param offset file offset the compressed bytes start at
+     */
+    private Entry compressLargeFile(Path file, String name, long offset, OutputStream output) throws IOException {
+        CountingOutputStream compressed = new CountingOutputStream(output);
+        LZWCompression codec = takeCodec();
+        try (CountingInputStream input = new CountingInputStream(new FileInputStream(file.toFile()))) {
+            codec.compress(input, compressed);
+            return new Entry(name, offset, compressed.count, input.count, (int) input.getChecksum().getValue());
+        } finally {
+            codecs.add(codec);
+        }
+    }
+
+    /**
+     * @return an idle codec, or a new copy of the settings if every one is in use
+     */
+    private LZWCompression takeCodec() {
+        LZWCompression codec = codecs.poll();
+        return codec != null ? codec : settings.copySettings();
+    }
+
+    /**
+     * Decode a file into a temporary file next to the target, and move it into
+     * place only once its length and CRC32C match the directory, so a corrupt
+     * file never appears under its name and an existing file is not overwritten.
+     */
+    private void extractFile(FileChannel channel, Entry entry, Path target) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            CRC32C crc = new CRC32C();
+            try (OutputStream output = new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary),
+                    1 << 16), crc)) {
+                LZWCompression codec = takeCodec();
+                try {
+                    codec.decompress(new RangeInputStream(channel, entry.offset, entry.compressedLength), output);
+                } finally {
+                    codecs.add(codec);
+                }
+            }
+            if (Files.size(temporary) != entry.length || (int) crc.getValue() != entry.crc) {
+                throw new IOException("CRC32C mismatch in LZW archive file " + entry.name);
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Read and check the central directory at the end of an archive.
+     */
+    private static List<Entry> readDirectory(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < 17 || readBytes(channel, 0, 1)[0] != ARCHIVE_HEADER) {
+            throw new IOException("Not an LZW archive");
+        }
+        ByteBuffer trailer = ByteBuffer.wrap(readBytes(channel, size - 16, 16));
+        long directoryOffset = trailer.getLong();
+        int count = trailer.getInt();
+        int crc = trailer.getInt();
+        if (directoryOffset < 1 || directoryOffset > size - 16 || size - 4 - directoryOffset > Integer.MAX_VALUE) {
+            throw new IOException("Truncated or corrupt LZW archive directory");
+        }
+        byte[] directory = readBytes(channel, directoryOffset, (int) (size - 4 - directoryOffset));
+        if (ParallelLZWCompression.crc(directory, 0, directory.length) != crc) {
+            throw new IOException("Truncated or corrupt LZW archive directory");
+        }
+        // the checksum is only 32 bits, so the count must also fit the directory before it sizes anything
+        if (count < 0 || count > (directory.length - DIRECTORY_END_BYTES) / MIN_ENTRY_BYTES) {
+            throw new IOException("Corrupt LZW archive directory: " + count + " files in " + directory.length + " bytes");
+        }
+        ByteArrayInputStream bytes = new ByteArrayInputStream(directory);
+        DataInputStream input = new DataInputStream(bytes);
+        ArrayList<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Entry entry = new Entry(input.readUTF(), input.readLong(), input.readLong(), input.readLong(), input.readInt());
+            if (entry.offset < 1 || entry.compressedLength < 0 || entry.length < 0
+                    || entry.compressedLength > directoryOffset - entry.offset) {
+                throw new IOException("Corrupt LZW archive directory entry " + entry.name);
+            }
+            entries.add(entry);
+        }
+        if (bytes.available() != DIRECTORY_END_BYTES) {
+            throw new IOException("Corrupt LZW archive directory: " + count + " files in " + directory.length + " bytes");
+        }
+        return entries;
+    }
+
+    private static byte[] readBytes(FileChannel channel, long position, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        new DataInputStream(new RangeInputStream(channel, position, length)).readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * @return path of a file in the archive, relative to root with '/' separators
+     */
+    private static String name(Path root, Path file) {
+        return root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * @return where a file of the archive is extracted, never outside root
+     */
+    private static Path target(Path root, String name) throws IOException {
+        Path directory = root.toAbsolutePath().normalize();
+        Path target = directory.resolve(name).normalize();
+        if (!target.startsWith(directory) || target.equals(directory)) {
+            throw new IOException("LZW archive path leads outside the output directory: " + name);
+        }
+        return target;
+    }
+
+    /**
+     * Bytes of a file between two offsets, read with positional reads so
+     * several threads can read one channel.
+     */
+    private static class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeInputStream(FileChannel channel, long offset, long length) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == end) {
+                return -1;
+            }
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (n == -1) {
+                throw new EOFException("Truncated LZW archive");
+            }
+            position += n;
+            return n;
+        }
+    }
+
+    /**
+     * CheckedInputStream with a CRC32C that also counts the bytes read.
+     */
+    private static class CountingInputStream extends CheckedInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in, new CRC32C());
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Counts the bytes written to a stream it does not close.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
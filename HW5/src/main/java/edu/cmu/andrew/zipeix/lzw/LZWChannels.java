@@ -0,0 +1,37 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Channel versions of LZWInputStream and LZWOutputStream, for code that
+ * moves data with NIO channels such as a SocketChannel.
+ */
+public class LZWChannels {
+
+    private LZWChannels() {
+    }
+
+    /**
+     * @param compressed channel holding a single stream LZW format
+     * @param lzw tables and preset dictionary, see LZWCompression.setPresetDictionary
+     * @return a channel reading the decompressed bytes; closing it closes the compressed channel
+     */
+    public static ReadableByteChannel decompressing(ReadableByteChannel compressed, LZWCompression lzw) {
+        return Channels.newChannel(lzw.decompressingStream(Channels.newInputStream(compressed)));
+    }
+
+    /**
+     * @param compressed channel receiving the compressed bytes
+     * @param lzw format settings, see LZWCompression.setMaxWidth and setAdaptiveReset
+     * @return a channel compressing what is written to it; closing it writes the last
+     *         codeword and closes the compressed channel
+     * @throws IOException write exception
+     */
+    public static WritableByteChannel compressing(WritableByteChannel compressed, LZWCompression lzw)
+            throws IOException {
+        return Channels.newChannel(lzw.compressingStream(Channels.newOutputStream(compressed)));
+    }
+}
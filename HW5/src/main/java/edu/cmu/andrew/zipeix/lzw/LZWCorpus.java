@@ -0,0 +1,59 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.util.Random;
+
+/**
+ * Synthetic inputs for measuring LZWCompression, from a fixed seed, so every
+ * run compresses the same bytes.
+ * text: words drawn with a skewed distribution, separated by spaces and line breaks.
+ * csv: rows of an id, two coordinates, a date and a category.
+ * random: uniformly random bytes, which LZW cannot compress.
+ */
+public class LZWCorpus {
+
+    /**
+     * The kinds of input generate accepts.
+     */
+    public static final String[] KINDS = {"text", "csv", "random"};
+
+    private static final String[] WORDS = {"the", "of", "and", "compression", "table", "code", "phrase",
+        "dictionary", "stream", "a", "in", "is", "to", "bits", "width", "reset", "LZW", "input", "output"};
+
+    private LZWCorpus() {
+    }
+
+    /**
+     * @param kind text, csv or random
+     * @param size length of the input
+     * @return size bytes of the kind of input
+     */
+    public static byte[] generate(String kind, int size) {
+        Random random = new Random(42);
+        byte[] data = new byte[size];
+        if (kind.equals("random")) {
+            random.nextBytes(data);
+            return data;
+        }
+        if (!kind.equals("text") && !kind.equals("csv")) {
+            throw new IllegalArgumentException("Unknown corpus " + kind);
+        }
+        StringBuilder sb = new StringBuilder(size + 64);
+        int row = 0;
+        while (sb.length() < size) {
+            if (kind.equals("text")) {
+                int word = (int) (WORDS.length * Math.pow(random.nextDouble(), 2));
+                sb.append(WORDS[word]).append(random.nextInt(12) == 0 ? '\n' : ' ');
+            } else {
+                sb.append(row++).append(',')
+                        .append(String.format("%.5f", 41.4 + random.nextDouble() / 10)).append(',')
+                        .append(String.format("%.5f", -80.0 + random.nextDouble() / 10)).append(',')
+                        .append(1990 + random.nextInt(30)).append('-').append(1 + random.nextInt(12)).append(',')
+                        .append(WORDS[random.nextInt(5)]).append('\n');
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) sb.charAt(i);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,414 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.IntFunction;
+
+/**
+ * InputStream that LZW decompresses the bytes of another stream.
+ * Reads the fixed 12-bit and the variable-width formats; the format is taken
+ * from the first byte. All codec state lives in the stream, so any number of
+ * them can run at the same time.
+ */
+public class LZWInputStream extends FilterInputStream {
+
+    /**
+     * Codes are decoded until at least this many bytes are waiting to be read.
+     */
+    private static final int FILL_SIZE = 8192;
+
+    private final IntFunction<DecodeTable> decodeTables;
+
+    /**
+     * Dictionary available for streams that were written with one, null for none.
+     */
+    private final LZWPresetDictionary presetDictionary;
+
+    /**
+     * Phrases entered after every reset, set from the header.
+     */
+    private LZWPresetDictionary preset;
+
+    /**
+     * Unpacks the header and the codewords.
+     */
+    private final CodeWordReader reader;
+
+    /**
+     * Whether the header of the current stream has been read.
+     */
+    private boolean headerRead;
+
+    /**
+     * Table used for decompress, created once the header has been read and
+     * kept by restart while the maximum width stays the same.
+     */
+    private DecodeTable wordCode;
+
+    /**
+     * Number of codes wordCode was created for.
+     */
+    private int tableCodes;
+
+    /**
+     * Whether the stream uses CLEAR_CODE.
+     */
+    private boolean clearCodes;
+
+    /**
+     * Width limits of the stream.
+     */
+    private int minWidth;
+    private int maxWidth;
+
+    /**
+     * Width of the next codeword.
+     */
+    private int codeWidth;
+
+    private int index;
+
+    /**
+     * Last code decoded, -1 before the first code and after CLEAR_CODE.
+     */
+    private int priorCodeWord = -1;
+
+    private boolean endOfInput;
+
+    /**
+     * Decoded bytes waiting to be read, from position up to phrases.size().
+     */
+    private final PhraseBuffer phrases = new PhraseBuffer();
+
+    private int position;
+
+    /**
+     * Totals to add to, null when not collected.
+     */
+    private LZWStatistics statistics;
+
+    /**
+     * Counts since the last report to statistics.
+     */
+    private long codes;
+    private long resets;
+
+    /**
+     * Reader counters at the last report to statistics.
+     */
+    private long reportedBytesIn;
+    private long reportedReadNanos;
+
+    /**
+     * Settings version of the LZWCompression that created this stream, which only reuses it while that is current.
+     */
+    int settingsVersion;
+
+    /**
+     * ByteArrayOutputStream whose array can be read without a copy.
+     */
+    private static class PhraseBuffer extends ByteArrayOutputStream {
+        PhraseBuffer() {
+            super(2 * FILL_SIZE);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    /**
+     * Decompress with PrefixChainDecodeTable.
+     * @param in compressed bytes
+     */
+    public LZWInputStream(InputStream in) {
+        this(in, PrefixChainDecodeTable::new);
+    }
+
+    /**
+     * Decompress with the given table.
+     * Nothing is read until the first read call.
+     * @param in compressed bytes
+     * @param decodeTables creates the table from its number of codes
+     */
+    public LZWInputStream(InputStream in, IntFunction<DecodeTable> decodeTables) {
+        this(in, decodeTables, null);
+    }
+
+    /**
+     * Decompress with the given table and preset dictionary.
+     * Nothing is read until the first read call.
+     * @param in compressed bytes
+     * @param decodeTables creates the table from its number of codes
+     * @param presetDictionary the dictionary the stream was compressed with, if its header says it was;
+     *                         null if only streams without one are expected
+     */
+    public LZWInputStream(InputStream in, IntFunction<DecodeTable> decodeTables, LZWPresetDictionary presetDictionary) {
+        super(in);
+        this.decodeTables = decodeTables;
+        this.presetDictionary = presetDictionary;
+        reader = new CodeWordReader(in);
+    }
+
+    /**
+     * Start decompressing another stream, in any format, with the table and
+     * buffers of this one, so decompressing many inputs one after the other
+     * allocates nothing. Bytes of the previous stream not read yet are dropped.
+     * @param in compressed bytes of the next stream
+     */
+    public void restart(InputStream in) {
+        this.in = in;
+        reader.setInput(in);
+        headerRead = false;
+        endOfInput = false;
+        priorCodeWord = -1;
+        phrases.reset();
+        position = 0;
+    }
+
+    /**
+     * Add the counts of this stream to statistics from now on.
+     * Counts are added each time the phrase buffer is refilled.
+     * @param statistics totals to add to, null to stop
+     */
+    public void setStatistics(LZWStatistics statistics) {
+        this.statistics = statistics;
+        reportedBytesIn = reader.bytesRead();
+        reportedReadNanos = reader.readNanos();
+        codes = 0;
+        resets = 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == phrases.size() && !fill()) {
+            return -1;
+        }
+        return phrases.array()[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == phrases.size() && !fill()) {
+            return -1;
+        }
+        int n = Math.min(len, phrases.size() - position);
+        System.arraycopy(phrases.array(), position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && (position < phrases.size() || fill())) {
+            int step = (int) Math.min(n - skipped, phrases.size() - position);
+            position += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return phrases.size() - position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Decode codes into the phrase buffer after everything in it has been read.
+     * @return false at the end of the input
+     */
+    private boolean fill() throws IOException {
+        long start = statistics == null ? 0 : System.nanoTime();
+        phrases.reset();
+        position = 0;
+        if (!headerRead) {
+            readHeader();
+            headerRead = true;
+        }
+        while (phrases.size() < FILL_SIZE && decodeNext()) {
+            // keep decoding
+        }
+        report(start);
+        return phrases.size() > 0;
+    }
+
+    /**
+     * Add the counts since the last report to statistics. The time since start
+     * less the time spent reading from the underlying stream is coding time.
+     */
+    private void report(long start) {
+        if (statistics == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        long readNanos = reader.readNanos() - reportedReadNanos;
+        statistics.addCoding(phrases.size(), reader.bytesRead() - reportedBytesIn,
+                codes, resets, 0, elapsed - readNanos);
+        statistics.addReadNanos(readNanos);
+        reportedBytesIn = reader.bytesRead();
+        reportedReadNanos = reader.readNanos();
+        codes = 0;
+        resets = 0;
+    }
+
+    private void readHeader() throws IOException {
+        int header = reader.peekByte();
+        preset = null;
+        if (header != -1 && (header & LZWCompression.VARIABLE_WIDTH_HEADER) != 0) {
+            reader.readCode(8);
+            int width = header & 0x1F;
+            if (width < LZWCompression.MIN_WIDTH || width > LZWCompression.MAX_WIDTH) {
+                throw new IOException("Unknown LZW header " + header);
+            }
+            maxWidth = width;
+            clearCodes = (header & LZWCompression.ADAPTIVE_RESET_HEADER) != 0;
+            if ((header & LZWCompression.PRESET_DICTIONARY_HEADER) != 0) {
+                int high = reader.readCode(16);
+                int low = reader.readCode(16);
+                if (low == -1) {
+                    throw new EOFException("LZW header ends before the preset dictionary id");
+                }
+                int id = high << 16 | low;
+                if (presetDictionary == null || presetDictionary.id() != id) {
+                    throw new IOException("LZW stream needs preset dictionary " + Integer.toHexString(id));
+                }
+                preset = presetDictionary;
+            }
+            minWidth = LZWCompression.startWidth(clearCodes, preset);
+            if (minWidth > maxWidth) {
+                throw new IOException("Preset dictionary does not fit in " + maxWidth + "-bit codes");
+            }
+        } else {
+            if (header > 0x0F) {
+                throw new IOException("Unknown LZW header " + header);
+            }
+            minWidth = LZWCompression.FIXED_WIDTH;
+            maxWidth = LZWCompression.FIXED_WIDTH;
+            clearCodes = false;
+        }
+        codeWidth = minWidth;
+        if (wordCode == null || tableCodes != 1 << maxWidth) {
+            tableCodes = 1 << maxWidth;
+            wordCode = decodeTables.apply(tableCodes);
+        }
+
+        // enter all symbols into the table;
+        initializeWordCodeMap();
+    }
+
+    /**
+     * One step of LZW decompression: read one codeword and output its phrase.
+     * @return false at the end of the input
+     */
+    private boolean decodeNext() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+
+        // read(priorcodeword) and output its corresponding character;
+        if (priorCodeWord == -1) {
+            priorCodeWord = reader.readCode(codeWidth);
+            if (priorCodeWord == -1) {
+                endOfInput = true;
+                return false;
+            }
+            codes++;
+            wordCode.write(priorCodeWord, phrases);
+            return true;
+        }
+
+        /**
+         * To handle large files, those that overflow the table size, your program will
+         * detect overflow and generate a brand new table and begin processing anew.
+         */
+        if (index == 1 << maxWidth && !clearCodes) {
+            initializeWordCodeMap();
+            codeWidth = minWidth;
+            resets++;
+        }
+
+        // read(codeword);
+        int codeWord = reader.readCode(codeWidth);
+        if (codeWord == -1) {
+            endOfInput = true;
+            return false;
+        }
+        codes++;
+
+        // start over with a new table, the next codeword is read like the first one
+        if (clearCodes && codeWord == LZWCompression.CLEAR_CODE) {
+            initializeWordCodeMap();
+            codeWidth = minWidth;
+            priorCodeWord = -1;
+            resets++;
+            return true;
+        }
+
+        // a full table is kept as it is until the next CLEAR_CODE
+        if (index == 1 << maxWidth) {
+            wordCode.write(codeWord, phrases);
+            priorCodeWord = codeWord;
+            return true;
+        }
+
+        // if(codeword not in the table)  {
+        if (!wordCode.contains(codeWord)) {
+
+            // enter string(priorcodeword) + firstChar(string(priorcodeword)) into the table;
+            wordCode.put(priorCodeWord, wordCode.firstByte(priorCodeWord), index);
+
+            // output string(priorcodeword) + firstChar(string(priorcodeword));
+            wordCode.write(index, phrases);
+        } else {
+
+            // enter string(priorcodeword) + firstChar(string(codeword)) into the table;
+            wordCode.put(priorCodeWord, wordCode.firstByte(codeWord), index);
+
+            // output codeword;
+            wordCode.write(codeWord, phrases);
+        }
+        index++;
+
+        // the compressor is one entry ahead, so widen one code earlier
+        if (index + 1 == 1 << codeWidth && codeWidth < maxWidth) {
+            codeWidth++;
+        }
+
+        // priorcodeword = codeword;
+        priorCodeWord = codeWord;
+        return true;
+    }
+
+    /**
+     * Put all 8 bits code into table, then the preset phrases.
+     */
+    private void initializeWordCodeMap() {
+        wordCode.reset();
+        index = clearCodes ? LZWCompression.CLEAR_CODE + 1 : 256;
+        if (preset != null) {
+            preset.load(wordCode, index);
+            index += preset.size();
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.IntFunction;
+
+/**
+ * OutputStream that LZW compresses everything written to it.
+ * All codec state lives in the stream, so any number of them can run at the
+ * same time, and the compressed bytes can go to a socket or an HTTP response
+ * without a temporary file. The output is in the formats LZWCompression reads.
+ */
+public class LZWOutputStream extends FilterOutputStream {
+
+    private final CodeWordWriter writer;
+
+    /**
+     * Table used for compress.
+     */
+    private final CodeWordDictionary codeword;
+
+    /**
+     * Whether the stream uses CLEAR_CODE.
+     */
+    private final boolean clearCodes;
+
+    /**
+     * Phrases entered after every reset, null for none.
+     */
+    private final LZWPresetDictionary preset;
+
+    /**
+     * Width limits of the stream. minWidth is the width after a reset, wide
+     * enough for the preset phrases.
+     */
+    private final int minWidth;
+    private final int maxWidth;
+
+    /**
+     * Header byte of the variable-width format, -1 for the fixed 12-bit format.
+     */
+    private final int header;
+
+    /**
+     * Width of the next codeword.
+     */
+    private int codeWidth;
+
+    /**
+     * Set when the table has just been reset. The codeword after a reset
+     * still uses the old width, because the decompressor only resets its own
+     * table once it has read that codeword.
+     */
+    private boolean narrowAfterNextCode;
+
+    /**
+     * Code of the phrase read so far, -1 before the first byte.
+     */
+    private int prefix = -1;
+
+    private int index;
+
+    /**
+     * Input bytes and output bits since the last check, and the best ratio
+     * seen at a check since the table filled up, while compressing with adaptive reset.
+     */
+    private long windowBytes;
+    private long windowBits;
+    private double bestRatio;
+
+    private boolean finished;
+
+    /**
+     * Totals to add to, null when not collected.
+     */
+    private LZWStatistics statistics;
+
+    /**
+     * Counts since the last report to statistics.
+     */
+    private long bytesIn;
+    private long codes;
+    private long resets;
+
+    /**
+     * Length of the header written straight to out, until it is reported.
+     */
+    private int headerLength;
+
+    /**
+     * Writer and table counters at the last report to statistics.
+     */
+    private long reportedBytesOut;
+    private long reportedWriteNanos;
+    private long reportedProbes;
+
+    /**
+     * Settings version of the LZWCompression that created this stream, which only reuses it while that is current.
+     */
+    int settingsVersion;
+
+    /**
+     * Compress into the fixed 12-bit format.
+     * @param out destination of the compressed bytes
+     * @throws IOException write exception
+     */
+    public LZWOutputStream(OutputStream out) throws IOException {
+        this(out, 0, false);
+    }
+
+    /**
+     * Compress into the format chosen by LZWCompression.setMaxWidth and setAdaptiveReset.
+     * @param out destination of the compressed bytes
+     * @param variableMaxWidth 0 for fixed 12-bit codes, otherwise the maximum width of variable-width codes
+     * @param adaptiveReset whether a full variable-width table is kept until the ratio drops
+     * @throws IOException write exception
+     */
+    public LZWOutputStream(OutputStream out, int variableMaxWidth, boolean adaptiveReset) throws IOException {
+        this(out, variableMaxWidth, adaptiveReset, PackedKeyDictionary::new);
+    }
+
+    /**
+     * Compress into the format chosen by LZWCompression.setMaxWidth and setAdaptiveReset.
+     * The variable-width header, if any, is written right away.
+     * @param out destination of the compressed bytes
+     * @param variableMaxWidth 0 for fixed 12-bit codes, otherwise the maximum width of variable-width codes
+     * @param adaptiveReset whether a full variable-width table is kept until the ratio drops
+     * @param dictionaries creates the table from its number of codes
+     * @throws IOException write exception
+     */
+    public LZWOutputStream(OutputStream out, int variableMaxWidth, boolean adaptiveReset,
+                           IntFunction<CodeWordDictionary> dictionaries) throws IOException {
+        this(out, variableMaxWidth, adaptiveReset, dictionaries, null);
+    }
+
+    /**
+     * Compress into the format chosen by LZWCompression.setMaxWidth, setAdaptiveReset
+     * and setPresetDictionary. The variable-width header, if any, is written right away.
+     * @param out destination of the compressed bytes
+     * @param variableMaxWidth 0 for fixed 12-bit codes, otherwise the maximum width of variable-width codes
+     * @param adaptiveReset whether a full variable-width table is kept until the ratio drops
+     * @param dictionaries creates the table from its number of codes
+     * @param preset phrases entered into the table after every reset, null for none;
+     *               only with variable-width codes, and it must leave room in the table
+     * @throws IOException write exception
+     */
+    public LZWOutputStream(OutputStream out, int variableMaxWidth, boolean adaptiveReset,
+                           IntFunction<CodeWordDictionary> dictionaries, LZWPresetDictionary preset) throws IOException {
+        super(out);
+        this.preset = preset;
+        if (variableMaxWidth == 0 && preset == null) {
+            minWidth = LZWCompression.FIXED_WIDTH;
+            maxWidth = LZWCompression.FIXED_WIDTH;
+            clearCodes = false;
+            header = -1;
+        } else if (variableMaxWidth >= LZWCompression.MIN_WIDTH && variableMaxWidth <= LZWCompression.MAX_WIDTH) {
+            maxWidth = variableMaxWidth;
+            clearCodes = adaptiveReset;
+            minWidth = LZWCompression.startWidth(clearCodes, preset);
+            if (minWidth > maxWidth) {
+                throw new IllegalArgumentException("Preset dictionary of " + preset.size()
+                        + " phrases does not fit in " + maxWidth + "-bit codes");
+            }
+            header = LZWCompression.VARIABLE_WIDTH_HEADER
+                    | (clearCodes ? LZWCompression.ADAPTIVE_RESET_HEADER : 0)
+                    | (preset != null ? LZWCompression.PRESET_DICTIONARY_HEADER : 0) | variableMaxWidth;
+        } else {
+            throw new IllegalArgumentException(preset == null
+                    ? "variableMaxWidth must be 0 or between " + LZWCompression.MIN_WIDTH + " and " + LZWCompression.MAX_WIDTH
+                    : "A preset dictionary needs a variableMaxWidth between "
+                            + LZWCompression.MIN_WIDTH + " and " + LZWCompression.MAX_WIDTH);
+        }
+        writeHeader();
+        codeWidth = minWidth;
+        writer = new CodeWordWriter(out);
+        codeword = dictionaries.apply(1 << maxWidth);
+
+        // enter all symbols in the table.
+        initializeCodeWordMap();
+    }
+
+    /**
+     * Start another compressed stream into out once this one is finished, in
+     * the same format and with the same table and buffers, so compressing many
+     * inputs one after the other allocates nothing. The header is written again.
+     * @param out destination of the next compressed bytes
+     * @throws IOException write exception, or this stream has not been finished
+     */
+    public void restart(OutputStream out) throws IOException {
+        if (!finished) {
+            throw new IOException("LZWOutputStream not finished");
+        }
+        this.out = out;
+        finished = false;
+        prefix = -1;
+        narrowAfterNextCode = false;
+        windowBytes = 0;
+        windowBits = 0;
+        writeHeader();
+        codeWidth = minWidth;
+        writer.setOutput(out);
+        initializeCodeWordMap();
+    }
+
+    /**
+     * Add the counts of this stream to statistics from now on.
+     * Counts are added after every write of a byte array, and by flush and finish.
+     * @param statistics totals to add to, null to stop
+     */
+    public void setStatistics(LZWStatistics statistics) {
+        this.statistics = statistics;
+        reportedBytesOut = writer.bytesWritten();
+        reportedWriteNanos = writer.writeNanos();
+        reportedProbes = codeword.probes();
+        bytesIn = 0;
+        codes = 0;
+        resets = 0;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        bytesIn++;
+        encode(b & 0xFF);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        long start = statistics == null ? 0 : System.nanoTime();
+        bytesIn += len;
+        for (int i = off; i < off + len; i++) {
+            encode(b[i] & 0xFF);
+        }
+        report(start);
+    }
+
+    /**
+     * Write every complete codeword so far to the underlying stream and flush it.
+     * The phrase being matched is only written by finish or close.
+     * @throws IOException write exception
+     */
+    @Override
+    public void flush() throws IOException {
+        long start = statistics == null ? 0 : System.nanoTime();
+        writer.flush();
+        report(start);
+    }
+
+    /**
+     * Write the last codeword and the padding without closing the underlying stream.
+     * Nothing can be written afterwards.
+     * @throws IOException write exception
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        long start = statistics == null ? 0 : System.nanoTime();
+
+        // output codeword(s);
+        if (prefix != -1) {
+            writeChunk();
+        }
+        writer.finish();
+        report(start);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * One step of LZW compression for the input byte ch.
+     */
+    private void encode(int ch) throws IOException {
+
+        // read(first character from w into string s);
+        if (prefix == -1) {
+            prefix = ch;
+            return;
+        }
+        windowBytes++;
+
+        /**
+         * To handle large files, those that overflow the table size, your program will
+         * detect overflow and generate a brand new table and begin processing anew.
+         * With clear codes a full table is kept until checkRatio decides otherwise.
+         */
+        if (index == 1 << maxWidth && !clearCodes) {
+            initializeCodeWordMap();
+            narrowAfterNextCode = true;
+            resets++;
+        }
+
+        // if(s + c is in the table), a new s + c is entered by the same lookup
+        boolean full = index == 1 << maxWidth;
+        int code = full ? codeword.get(prefix, ch) : codeword.getOrAdd(prefix, ch, index);
+        if (code != -1) {
+
+            // s = s + c;
+            prefix = code;
+        } else {
+
+            // output codeword(s);
+            writeChunk();
+
+            // s + c has been entered into the table;
+            if (!full) {
+                index++;
+                if (index == 1 << codeWidth && codeWidth < maxWidth) {
+                    codeWidth++;
+                }
+                if (index == 1 << maxWidth) {
+                    windowBytes = 0;
+                    windowBits = 0;
+                }
+            } else if (windowBytes >= LZWCompression.CHECK_GAP) {
+                checkRatio();
+            }
+
+            // s = c;
+            prefix = ch;
+        }
+    }
+
+    /**
+     * The output will be written in chunks of the current code width.
+     * With 12-bit codes two codewords share three bytes; a trailing odd codeword takes two bytes.
+     * @throws IOException
+     */
+    private void writeChunk() throws IOException {
+        writer.writeCode(prefix, codeWidth);
+        windowBits += codeWidth;
+        codes++;
+        if (narrowAfterNextCode) {
+            codeWidth = minWidth;
+            narrowAfterNextCode = false;
+        }
+    }
+
+    /**
+     * Monitor and reset: called every CHECK_GAP input bytes while the table is full.
+     * The table is kept while the ratio of the last CHECK_GAP bytes holds up. Once it
+     * drops below RATIO_DROP of the best check, or the output grows bigger than the
+     * input, CLEAR_CODE is written and a new table is started.
+     * @throws IOException write exception
+     */
+    private void checkRatio() throws IOException {
+        double ratio = 8.0 * windowBytes / windowBits;
+        windowBytes = 0;
+        windowBits = 0;
+        if (ratio >= 1 && ratio >= bestRatio * LZWCompression.RATIO_DROP) {
+            bestRatio = Math.max(bestRatio, ratio);
+            return;
+        }
+        writer.writeCode(LZWCompression.CLEAR_CODE, codeWidth);
+        codes++;
+        resets++;
+        initializeCodeWordMap();
+        codeWidth = minWidth;
+    }
+
+    /**
+     * Write the variable-width header byte and the id of the preset dictionary
+     * straight to out. The fixed 12-bit format has no header.
+     */
+    private void writeHeader() throws IOException {
+        if (header == -1) {
+            return;
+        }
+        out.write(header);
+        headerLength = 1;
+        if (preset != null) {
+            int id = preset.id();
+            out.write(id >>> 24);
+            out.write(id >>> 16);
+            out.write(id >>> 8);
+            out.write(id);
+            headerLength = 5;
+        }
+    }
+
+    /**
+     * enter all symbols in the table, then the preset phrases.
+     */
+    private void initializeCodeWordMap() {
+        codeword.reset();
+        index = clearCodes ? LZWCompression.CLEAR_CODE + 1 : 256;
+        if (preset != null) {
+            preset.load(codeword, index);
+            index += preset.size();
+        }
+        bestRatio = 0;
+    }
+
+    /**
+     * Add the counts since the last report to statistics. The time since start
+     * less the time spent writing to the underlying stream is coding time.
+     */
+    private void report(long start) {
+        if (statistics == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        long writeNanos = writer.writeNanos() - reportedWriteNanos;
+        statistics.addCoding(bytesIn, headerLength + writer.bytesWritten() - reportedBytesOut, codes, resets,
+                codeword.probes() - reportedProbes, elapsed - writeNanos);
+        statistics.addWriteNanos(writeNanos);
+        reportedBytesOut = writer.bytesWritten();
+        reportedWriteNanos = writer.writeNanos();
+        reportedProbes = codeword.probes();
+        headerLength = 0;
+        bytesIn = 0;
+        codes = 0;
+        resets = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("LZWOutputStream already finished");
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Phrases loaded into the LZW table before the first byte and after every
+ * reset, so short inputs are matched against phrases learned from a sample
+ * instead of starting from single bytes.
+ * Every entry is a prefix followed by one byte, like the entries LZW adds
+ * itself. A prefix below 256 is that byte; prefix 256 + i is entry i, so the
+ * entries can be loaded after code 255 or after CLEAR_CODE.
+ * Both sides of a stream must load the same dictionary. Streams written with
+ * one record its id, and LZWInputStream refuses a different one.
+ */
+public class LZWPresetDictionary {
+
+    /**
+     * First int of a serialized dictionary, "LZWD".
+     */
+    private static final int MAGIC = 0x4C5A5744;
+
+    /**
+     * Codes left free after a dictionary trained with train(sample), for the phrases of each input.
+     */
+    public static final int DEFAULT_FREE_CODES = 4096;
+
+    private final int[] prefixes;
+
+    private final byte[] lastBytes;
+
+    private final int id;
+
+    private LZWPresetDictionary(int[] prefixes, byte[] lastBytes) {
+        this.prefixes = prefixes;
+        this.lastBytes = lastBytes;
+        CRC32C crc = new CRC32C();
+        for (int i = 0; i < prefixes.length; i++) {
+            crc.update(prefixes[i] >>> 8);
+            crc.update(prefixes[i]);
+            crc.update(lastBytes[i]);
+        }
+        id = (int) crc.getValue();
+    }
+
+    /**
+     * Learn the phrases LZW builds while compressing the sample, with room
+     * for DEFAULT_FREE_CODES more in a 16-bit table with CLEAR_CODE.
+     * @param sample bytes typical of the inputs to be compressed
+     * @return the dictionary
+     * @throws IOException read exception
+     */
+    public static LZWPresetDictionary train(InputStream sample) throws IOException {
+        return train(sample, (1 << LZWCompression.MAX_WIDTH) - LZWCompression.CLEAR_CODE - 1 - DEFAULT_FREE_CODES);
+    }
+
+    /**
+     * Learn the phrases LZW builds while compressing the sample.
+     * Training stops at maxEntries phrases or at the end of the sample.
+     * A large dictionary matches longer phrases but makes every code wider.
+     * @param sample bytes typical of the inputs to be compressed
+     * @param maxEntries largest number of phrases to keep
+     * @return the dictionary
+     * @throws IOException read exception
+     */
+    public static LZWPresetDictionary train(InputStream sample, int maxEntries) throws IOException {
+        if (maxEntries < 0 || maxEntries > (1 << LZWCompression.MAX_WIDTH) - 256) {
+            throw new IllegalArgumentException("maxEntries must be between 0 and " + ((1 << LZWCompression.MAX_WIDTH) - 256));
+        }
+        PackedKeyDictionary table = new PackedKeyDictionary(256 + maxEntries);
+        int[] prefixes = new int[maxEntries];
+        byte[] lastBytes = new byte[maxEntries];
+        int count = 0;
+        int prefix = -1;
+        byte[] buffer = new byte[1 << 16];
+        int n;
+        while (count < maxEntries && (n = sample.read(buffer)) != -1) {
+            for (int i = 0; i < n && count < maxEntries; i++) {
+                int ch = buffer[i] & 0xFF;
+                if (prefix == -1) {
+                    prefix = ch;
+                    continue;
+                }
+                int code = table.getOrAdd(prefix, ch, 256 + count);
+                if (code != -1) {
+                    prefix = code;
+                } else {
+                    prefixes[count] = prefix;
+                    lastBytes[count] = (byte) ch;
+                    count++;
+                    prefix = ch;
+                }
+            }
+        }
+        return new LZWPresetDictionary(Arrays.copyOf(prefixes, count), Arrays.copyOf(lastBytes, count));
+    }
+
+    /**
+     * Read a dictionary written by write.
+     * @param in serialized dictionary
+     * @return the dictionary
+     * @throws IOException read exception, or the bytes are not a dictionary
+     */
+    public static LZWPresetDictionary read(InputStream in) throws IOException {
+        DataInputStream input = new DataInputStream(in);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not an LZW preset dictionary");
+        }
+        int count = input.readInt();
+        if (count < 0 || count > (1 << LZWCompression.MAX_WIDTH) - 256) {
+            throw new IOException("Corrupt LZW preset dictionary");
+        }
+        int[] prefixes = new int[count];
+        byte[] lastBytes = new byte[count];
+        for (int i = 0; i < count; i++) {
+            prefixes[i] = input.readUnsignedShort();
+            lastBytes[i] = input.readByte();
+            if (prefixes[i] >= 256 + i) {
+                throw new IOException("Corrupt LZW preset dictionary");
+            }
+        }
+        LZWPresetDictionary dictionary = new LZWPresetDictionary(prefixes, lastBytes);
+        if (input.readInt() != dictionary.id) {
+            throw new IOException("Corrupt LZW preset dictionary");
+        }
+        return dictionary;
+    }
+
+    /**
+     * Serialize the dictionary: MAGIC, the number of entries, every entry as a
+     * short prefix and a byte, and the id.
+     * @param out destination, not closed
+     * @throws IOException write exception
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream output = new DataOutputStream(out);
+        output.writeInt(MAGIC);
+        output.writeInt(prefixes.length);
+        for (int i = 0; i < prefixes.length; i++) {
+            output.writeShort(prefixes[i]);
+            output.writeByte(lastBytes[i]);
+        }
+        output.writeInt(id);
+        output.flush();
+    }
+
+    /**
+     * @return number of phrases
+     */
+    public int size() {
+        return prefixes.length;
+    }
+
+    /**
+     * @return CRC32C of the entries, written in the header of streams that use the dictionary
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Enter every phrase into a compress table.
+     * @param table table that has just been reset
+     * @param firstCode code of the first phrase, 256 or 257 after CLEAR_CODE
+     */
+    void load(CodeWordDictionary table, int firstCode) {
+        for (int i = 0; i < prefixes.length; i++) {
+            table.put(code(prefixes[i], firstCode), lastBytes[i] & 0xFF, firstCode + i);
+        }
+    }
+
+    /**
+     * Enter every phrase into a decompress table.
+     * @param table table that has just been reset
+     * @param firstCode code of the first phrase, 256 or 257 after CLEAR_CODE
+     */
+    void load(DecodeTable table, int firstCode) {
+        for (int i = 0; i < prefixes.length; i++) {
+            table.put(code(prefixes[i], firstCode), lastBytes[i] & 0xFF, firstCode + i);
+        }
+    }
+
+    private static int code(int prefix, int firstCode) {
+        return prefix < 256 ? prefix : firstCode + prefix - 256;
+    }
+}
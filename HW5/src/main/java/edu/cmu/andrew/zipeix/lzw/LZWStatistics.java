@@ -0,0 +1,140 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Running totals of LZW compression and decompression.
+ * Set on LZWCompression, LZWOutputStream or LZWInputStream; the streams add
+ * their counts once per buffer, not per byte, so the codec loops stay as they
+ * are. One object can be shared by many streams, including the blocks of
+ * ParallelLZWCompression, and read from any thread while they run: through
+ * JMX after register, or as a log line from startLogging.
+ */
+public class LZWStatistics implements LZWStatisticsMXBean {
+
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder codes = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder readNanos = new LongAdder();
+    private final LongAdder codeNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+
+    /**
+     * Add the counts of one buffer of codec work.
+     */
+    void addCoding(long uncompressed, long compressed, long codeCount, long resetCount, long probeCount, long nanos) {
+        uncompressedBytes.add(uncompressed);
+        compressedBytes.add(compressed);
+        codes.add(codeCount);
+        resets.add(resetCount);
+        probes.add(probeCount);
+        codeNanos.add(nanos);
+    }
+
+    void addReadNanos(long nanos) {
+        readNanos.add(nanos);
+    }
+
+    void addWriteNanos(long nanos) {
+        writeNanos.add(nanos);
+    }
+
+    @Override
+    public long getUncompressedBytes() {
+        return uncompressedBytes.sum();
+    }
+
+    @Override
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    @Override
+    public long getCodes() {
+        return codes.sum();
+    }
+
+    @Override
+    public long getResets() {
+        return resets.sum();
+    }
+
+    @Override
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    @Override
+    public double getAveragePhraseLength() {
+        long count = getCodes();
+        return count == 0 ? 0 : (double) getUncompressedBytes() / count;
+    }
+
+    @Override
+    public double getCompressionDegree() {
+        long uncompressed = getUncompressedBytes();
+        return uncompressed == 0 ? 0 : 100.0 * getCompressedBytes() / uncompressed;
+    }
+
+    @Override
+    public long getReadNanos() {
+        return readNanos.sum();
+    }
+
+    @Override
+    public long getCodeNanos() {
+        return codeNanos.sum();
+    }
+
+    @Override
+    public long getWriteNanos() {
+        return writeNanos.sum();
+    }
+
+    /**
+     * Make the counters readable through JMX, for example in JConsole.
+     * @param name value of the name key of the ObjectName LZWCompression:type=Statistics,name=...
+     * @throws JMException if the name is taken or not valid
+     */
+    public void register(String name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                new ObjectName("LZWCompression:type=Statistics,name=" + ObjectName.quote(name)));
+    }
+
+    /**
+     * Print toString to out at a fixed rate from a daemon thread.
+     * @param out where the lines are printed
+     * @param periodMillis milliseconds between lines
+     * @return the timer printing the lines; cancel it to stop
+     */
+    public Timer startLogging(PrintStream out, long periodMillis) {
+        Timer timer = new Timer("LZWStatistics", true);
+        timer.scheduleAtFixedRate(new TimerTask() {
+            @Override
+            public void run() {
+                out.println(LZWStatistics.this);
+            }
+        }, periodMillis, periodMillis);
+        return timer;
+    }
+
+    /**
+     * @return every counter on one line
+     */
+    @Override
+    public String toString() {
+        return String.format("uncompressed=%d compressed=%d degree=%.1f%% codes=%d phrase=%.2f resets=%d"
+                        + " probes=%d read=%dms code=%dms write=%dms",
+                getUncompressedBytes(), getCompressedBytes(), getCompressionDegree(), getCodes(),
+                getAveragePhraseLength(), getResets(), getProbes(),
+                getReadNanos() / 1000000, getCodeNanos() / 1000000, getWriteNanos() / 1000000);
+    }
+}
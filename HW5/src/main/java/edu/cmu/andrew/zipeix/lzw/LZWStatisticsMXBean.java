@@ -0,0 +1,58 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+/**
+ * Counters of LZWStatistics as seen through JMX.
+ * Every counter is a total since the statistics were created.
+ */
+public interface LZWStatisticsMXBean {
+
+    /**
+     * @return bytes before compression, read by compress or written by decompress
+     */
+    long getUncompressedBytes();
+
+    /**
+     * @return bytes after compression, written by compress or read by decompress
+     */
+    long getCompressedBytes();
+
+    /**
+     * @return codewords written or read, CLEAR_CODE included
+     */
+    long getCodes();
+
+    /**
+     * @return times a table was started over because it was full or because of CLEAR_CODE
+     */
+    long getResets();
+
+    /**
+     * @return entries compared while looking up phrases in the compress table
+     */
+    long getProbes();
+
+    /**
+     * @return uncompressed bytes per codeword
+     */
+    double getAveragePhraseLength();
+
+    /**
+     * @return compressed bytes as a percentage of uncompressed bytes
+     */
+    double getCompressionDegree();
+
+    /**
+     * @return nanoseconds spent reading the input of the codec
+     */
+    long getReadNanos();
+
+    /**
+     * @return nanoseconds spent turning bytes into codewords or codewords into bytes
+     */
+    long getCodeNanos();
+
+    /**
+     * @return nanoseconds spent writing the output of the codec
+     */
+    long getWriteNanos();
+}
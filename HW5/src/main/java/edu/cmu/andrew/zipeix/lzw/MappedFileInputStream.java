@@ -0,0 +1,86 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * InputStream over a memory-mapped file.
+ * The file is mapped one region at a time, so files larger than one
+ * MappedByteBuffer can hold are read too. The end of input is found from the
+ * buffer position, not from an exception.
+ */
+public class MappedFileInputStream extends InputStream {
+
+    /**
+     * Bytes mapped at once.
+     */
+    private static final long REGION_SIZE = 1L << 28;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    /**
+     * File offset just past the mapped region.
+     */
+    private long mappedEnd;
+
+    private MappedByteBuffer buffer;
+
+    /**
+     * Constructor, the channel is closed with this stream.
+     * @param channel channel of a file opened for reading
+     * @throws IOException read exception
+     */
+    public MappedFileInputStream(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        mapNextRegion();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!buffer.hasRemaining() && !mapNextRegion()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining() && !mapNextRegion()) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @return false if the whole file has been mapped already
+     */
+    private boolean mapNextRegion() throws IOException {
+        if (buffer != null && mappedEnd == size) {
+            return false;
+        }
+        long length = Math.min(REGION_SIZE, size - mappedEnd);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, mappedEnd, length);
+        mappedEnd += length;
+        return length > 0;
+    }
+}
@@ -0,0 +1,96 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.util.Arrays;
+
+/**
+ * CodeWordDictionary backed by a flat open-addressed int table.
+ * The key (prefixCode, nextByte) is packed into one int, so a lookup
+ * hashes and compares ints only and never allocates.
+ * Single-byte phrases are implied by their code and are not stored.
+ */
+public class PackedKeyDictionary implements CodeWordDictionary {
+
+    /**
+     * Packed key + 1 of every slot, 0 marks an empty slot.
+     */
+    private final int[] keys;
+
+    /**
+     * Code stored in the matching slot of keys.
+     */
+    private final int[] values;
+
+    private final int mask;
+
+    private final int shift;
+
+    /**
+     * Occupied slots compared by get and getOrAdd.
+     */
+    private long probes;
+
+    /**
+     * Constructor with the largest table the compressor will build.
+     * The slot array is kept at most half full.
+     * @param maxCodes number of codes before the table is reset
+     */
+    public PackedKeyDictionary(int maxCodes) {
+        int capacity = Integer.highestOneBit(Math.max(maxCodes, 256) - 1) << 2;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(keys, 0);
+    }
+
+    @Override
+    public int get(int prefixCode, int nextByte) {
+        int key = ((prefixCode << 8) | nextByte) + 1;
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            probes++;
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void put(int prefixCode, int nextByte, int code) {
+        int key = ((prefixCode << 8) | nextByte) + 1;
+        int slot = slot(key);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = code;
+    }
+
+    @Override
+    public int getOrAdd(int prefixCode, int nextByte, int code) {
+        int key = ((prefixCode << 8) | nextByte) + 1;
+        int slot = slot(key);
+        for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+            probes++;
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        keys[slot] = key;
+        values[slot] = code;
+        return -1;
+    }
+
+    @Override
+    public long probes() {
+        return probes;
+    }
+
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+}
@@ -0,0 +1,380 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32C;
+
+/**
+ * Block-parallel LZW compression into a framed container.
+ * The input is split into fixed-size frames and every frame is compressed on
+ * a ForkJoinPool worker with its own table, so frames do not depend on each
+ * other: they can be decompressed in parallel, checked one by one, and a
+ * range of the uncompressed bytes can be decoded from the frames it covers.
+ *
+ * File layout:
+ *   byte FRAMED_HEADER
+ *   for every frame: int uncompressed length, int compressed length,
+ *                    int CRC32C of the uncompressed bytes, compressed bytes
+ *   int -1
+ *   frame index: for every frame the long file offset of its lengths and
+ *                the long offset of its first byte in the uncompressed data
+ *   long uncompressed length
+ *   int number of frames
+ *   int CRC32C of the index, from the first offset up to the number of frames
+ * The compressed bytes of a frame are a complete LZWCompression stream in the
+ * format chosen on the settings, header included.
+ */
+public class ParallelLZWCompression {
+
+    /**
+     * First byte of a framed file. Single stream files start with a byte below 0x10 or at least 0x80.
+     */
+    public static final int FRAMED_HEADER = 0x46;
+
+    /**
+     * Block size used by the -p command line option.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private final LZWCompression settings;
+
+    private final int blockSize;
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * At most this many blocks are held in memory at once.
+     */
+    private final int window = 2 * pool.getParallelism();
+
+    /**
+     * Uncompressed length of a block with either its compressed or its decompressed bytes,
+     * and the CRC32C of the uncompressed bytes.
+     */
+    private static class Block {
+        private final int length;
+        private final byte[] data;
+        private final int crc;
+
+        Block(int length, byte[] data, int crc) {
+            this.length = length;
+            this.data = data;
+            this.crc = crc;
+        }
+    }
+
+    /**
+     * Where the frames of a file are, read from its index.
+     */
+    private static class FrameIndex {
+        private final long[] fileOffsets;
+        private final long[] uncompressedOffsets;
+        private final long uncompressedLength;
+
+        FrameIndex(long[] fileOffsets, long[] uncompressedOffsets, long uncompressedLength) {
+            this.fileOffsets = fileOffsets;
+            this.uncompressedOffsets = uncompressedOffsets;
+            this.uncompressedLength = uncompressedLength;
+        }
+    }
+
+    /**
+     * Constructor.
+     * @param settings tables and format used for every block
+     * @param blockSize input bytes per block, only used to compress
+     */
+    public ParallelLZWCompression(LZWCompression settings, int blockSize) {
+        this.settings = settings;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Compress a file into a framed file.
+     * Blocks are read in order, compressed in parallel and written in order.
+     * @param inputFileName file to be compressed
+     * @param outputFileName compressed file
+     * @throws IOException Read/Write Exception
+     */
+    public void compress(String inputFileName, String outputFileName) throws IOException {
+        try (InputStream input = new FileInputStream(inputFileName);
+             DataOutputStream output = new DataOutputStream(
+                     new BufferedOutputStream(
+                             new FileOutputStream(outputFileName)))) {
+            output.writeByte(FRAMED_HEADER);
+            ArrayList<Long> offsets = new ArrayList<>();
+            ArrayList<Long> uncompressedOffsets = new ArrayList<>();
+            long offset = 1;
+            long uncompressedOffset = 0;
+            ArrayDeque<ForkJoinTask<Block>> pending = new ArrayDeque<>();
+            boolean endOfFile = false;
+            while (!endOfFile || !pending.isEmpty()) {
+                if (!endOfFile && pending.size() < window) {
+                    byte[] data = new byte[blockSize];
+                    int length = readBlock(input, data);
+                    if (length == 0) {
+                        endOfFile = true;
+                    } else {
+                        pending.add(pool.submit(() -> compressBlock(data, length)));
+                    }
+                    continue;
+                }
+                Block block = await(pending.remove());
+                offsets.add(offset);
+                uncompressedOffsets.add(uncompressedOffset);
+                output.writeInt(block.length);
+                output.writeInt(block.data.length);
+                output.writeInt(block.crc);
+                output.write(block.data);
+                offset += 12 + block.data.length;
+                uncompressedOffset += block.length;
+            }
+            output.writeInt(-1);
+            ByteBuffer index = ByteBuffer.allocate(16 * offsets.size() + 12);
+            for (int i = 0; i < offsets.size(); i++) {
+                index.putLong(offsets.get(i));
+                index.putLong(uncompressedOffsets.get(i));
+            }
+            index.putLong(uncompressedOffset);
+            index.putInt(offsets.size());
+            output.write(index.array());
+            output.writeInt(crc(index.array(), 0, index.capacity()));
+        }
+    }
+
+    /**
+     * Decompress a framed file, using the index to decode frames in parallel.
+     * @param inputFileName file to be decompressed
+     * @param outputFileName decompressed file
+     * @throws IOException read/write exception, or the file is truncated or corrupt
+     */
+    public void decompress(String inputFileName, String outputFileName) throws IOException {
+        decompress(inputFileName, 0, Long.MAX_VALUE, outputFileName);
+    }
+
+    /**
+     * Decompress part of a framed file. Only the frames that hold the range are read and decoded.
+     * @param inputFileName framed file
+     * @param offset first uncompressed byte to write
+     * @param length number of bytes to write; fewer are written if the data ends first
+     * @param outputFileName decompressed bytes of the range
+     * @throws IOException read/write exception, or the file is truncated or corrupt
+     */
+    public void decompress(String inputFileName, long offset, long length, String outputFileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(inputFileName), StandardOpenOption.READ);
+             OutputStream output = new BufferedOutputStream(new FileOutputStream(outputFileName))) {
+            FrameIndex index = readIndex(channel);
+            if (offset == 0 && length == Long.MAX_VALUE) {
+                decompressFrames(channel, index, 0, index.fileOffsets.length, 0, Long.MAX_VALUE, output);
+                return;
+            }
+            if (offset < 0 || length < 0) {
+                throw new IllegalArgumentException("Negative offset or length");
+            }
+            long end = Math.min(index.uncompressedLength, offset + Math.min(length, Long.MAX_VALUE - offset));
+            if (offset >= end) {
+                return;
+            }
+            int first = frameAt(index.uncompressedOffsets, offset);
+            int last = frameAt(index.uncompressedOffsets, end - 1);
+            decompressFrames(channel, index, first, last + 1, offset, end, output);
+        }
+    }
+
+    /**
+     * Decompress a framed file from a stream, one frame after the other.
+     * @param input the file after its FRAMED_HEADER byte; the index is not read
+     * @param output decompressed bytes
+     * @throws IOException read/write exception, or the file is truncated or corrupt
+     */
+    public void decompress(DataInputStream input, OutputStream output) throws IOException {
+        while (true) {
+            int length = input.readInt();
+            if (length == -1) {
+                return;
+            }
+            int compressedLength = input.readInt();
+            int crc = input.readInt();
+            if (length < 0 || compressedLength < 0) {
+                throw new IOException("Corrupt LZW frame lengths");
+            }
+            byte[] data = new byte[compressedLength];
+            input.readFully(data);
+            Block block = decodeBlock(length, data);
+            if (block.crc != crc) {
+                throw new IOException("CRC32C mismatch in LZW frame");
+            }
+            output.write(block.data, 0, block.length);
+        }
+    }
+
+    /**
+     * Decode frames first to end - 1 in parallel and write the bytes between
+     * the uncompressed offsets from and to, in order.
+     */
+    private void decompressFrames(FileChannel channel, FrameIndex index, int first, int end,
+                                  long from, long to, OutputStream output) throws IOException {
+        ArrayDeque<ForkJoinTask<Block>> pending = new ArrayDeque<>();
+        int next = first;
+        int written = first;
+        while (next < end || !pending.isEmpty()) {
+            if (next < end && pending.size() < window) {
+                long offset = index.fileOffsets[next++];
+                pending.add(pool.submit(() -> decompressBlock(channel, offset)));
+                continue;
+            }
+            Block block = await(pending.remove());
+            long blockOffset = index.uncompressedOffsets[written];
+            int start = (int) Math.max(0, from - blockOffset);
+            int stop = (int) Math.min(block.length, to - blockOffset);
+            output.write(block.data, start, stop - start);
+            written++;
+        }
+    }
+
+    /**
+     * Read and check the index at the end of a framed file.
+     */
+    private static FrameIndex readIndex(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < 1) {
+            throw new IOException("Truncated LZW framed file");
+        }
+        int header = readBytes(channel, 0, 1).get() & 0xFF;
+        if (header != FRAMED_HEADER) {
+            throw new IOException("Unknown LZW container header " + header);
+        }
+        if (size < 21) {
+            throw new IOException("Truncated LZW framed file");
+        }
+        ByteBuffer trailer = readBytes(channel, size - 8, 8);
+        int count = trailer.getInt();
+        int crc = trailer.getInt();
+        long indexOffset = size - 16 - 16L * count;
+        if (count < 0 || indexOffset < 5) {
+            throw new IOException("Truncated or corrupt LZW frame index");
+        }
+        ByteBuffer index = readBytes(channel, indexOffset, 16 * count + 12);
+        if (crc(index.array(), 0, index.capacity()) != crc) {
+            throw new IOException("Truncated or corrupt LZW frame index");
+        }
+        long[] fileOffsets = new long[count];
+        long[] uncompressedOffsets = new long[count];
+        for (int i = 0; i < count; i++) {
+            fileOffsets[i] = index.getLong();
+            uncompressedOffsets[i] = index.getLong();
+        }
+        return new FrameIndex(fileOffsets, uncompressedOffsets, index.getLong());
+    }
+
+    /**
+     * @return the last frame that starts at or before the uncompressed offset
+     */
+    private static int frameAt(long[] uncompressedOffsets, long offset) {
+        int low = 0;
+        int high = uncompressedOffsets.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (uncompressedOffsets[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private Block compressBlock(byte[] data, int length) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 16);
+        settings.copySettings().compress(new ByteArrayInputStream(data, 0, length), compressed);
+        return new Block(length, compressed.toByteArray(), crc(data, 0, length));
+    }
+
+    private Block decompressBlock(FileChannel channel, long offset) throws IOException {
+        ByteBuffer lengths = readBytes(channel, offset, 12);
+        int length = lengths.getInt();
+        int compressedLength = lengths.getInt();
+        if (length < 0 || compressedLength < 0) {
+            throw new IOException("Corrupt LZW frame at " + offset);
+        }
+        Block block = decodeBlock(length, readBytes(channel, offset + 12, compressedLength).array());
+        if (block.crc != lengths.getInt()) {
+            throw new IOException("CRC32C mismatch in LZW frame at " + offset);
+        }
+        return block;
+    }
+
+    private Block decodeBlock(int length, byte[] compressed) throws IOException {
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream(length);
+        settings.copySettings().decompress(new ByteArrayInputStream(compressed), decompressed);
+        if (decompressed.size() != length) {
+            throw new IOException("LZW block decoded to " + decompressed.size() + " bytes instead of " + length);
+        }
+        byte[] data = decompressed.toByteArray();
+        return new Block(length, data, crc(data, 0, length));
+    }
+
+    static int crc(byte[] data, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Fill data from the input unless the input ends first.
+     * @return number of bytes read, 0 at end of input
+     */
+    private static int readBlock(InputStream input, byte[] data) throws IOException {
+        int length = 0;
+        while (length < data.length) {
+            int n = input.read(data, length, data.length - length);
+            if (n == -1) {
+                break;
+            }
+            length += n;
+        }
+        return length;
+    }
+
+    /**
+     * Positional read, safe to call from several threads on one channel.
+     */
+    private static ByteBuffer readBytes(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                throw new EOFException("Truncated LZW framed file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return the result of a pool task, with the IOException it threw rethrown as it was
+     */
+    static <T> T await(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an LZW task");
+        } catch (ExecutionException e) {
+            // ForkJoinTask wraps the checked exceptions of a Callable in a RuntimeException,
+            // and may wrap that again when it rethrows on another thread
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
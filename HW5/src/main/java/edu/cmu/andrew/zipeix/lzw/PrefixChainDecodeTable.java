@@ -0,0 +1,83 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * DecodeTable storing every phrase as (prefix code, last byte, length) in
+ * parallel int arrays.
+ * A phrase is written by walking its prefix chain backwards into a reusable
+ * scratch buffer, so memory stays at a few ints per code however long the
+ * phrases get, and decoding does not allocate.
+ */
+public class PrefixChainDecodeTable implements DecodeTable {
+
+    private final int[] prefixes;
+
+    private final int[] lastBytes;
+
+    private final int[] firstBytes;
+
+    /**
+     * Phrase length of every code, 0 for a code not in the table.
+     */
+    private final int[] lengths;
+
+    /**
+     * Holds one phrase while it is written. No phrase is longer than the
+     * number of codes, since each code adds one byte to an earlier one.
+     */
+    private final byte[] scratch;
+
+    /**
+     * Constructor with the largest table the decompressor will build.
+     * @param maxCodes number of codes before the table is reset
+     */
+    public PrefixChainDecodeTable(int maxCodes) {
+        prefixes = new int[maxCodes];
+        lastBytes = new int[maxCodes];
+        firstBytes = new int[maxCodes];
+        lengths = new int[maxCodes];
+        scratch = new byte[maxCodes];
+        for (int i = 0; i < 256; i++) {
+            prefixes[i] = -1;
+            lastBytes[i] = i;
+            firstBytes[i] = i;
+            lengths[i] = 1;
+        }
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(lengths, 256, lengths.length, 0);
+    }
+
+    @Override
+    public boolean contains(int code) {
+        return lengths[code] != 0;
+    }
+
+    @Override
+    public int firstByte(int code) {
+        return firstBytes[code];
+    }
+
+    @Override
+    public void put(int prefixCode, int lastByte, int code) {
+        prefixes[code] = prefixCode;
+        lastBytes[code] = lastByte;
+        firstBytes[code] = firstBytes[prefixCode];
+        lengths[code] = lengths[prefixCode] + 1;
+    }
+
+    @Override
+    public void write(int code, OutputStream out) throws IOException {
+        int length = lengths[code];
+        for (int i = length - 1; i >= 0; i--) {
+            scratch[i] = (byte) lastBytes[code];
+            code = prefixes[code];
+        }
+        out.write(scratch, 0, length);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import edu.cmu.andrew.zipeix.collections.IntObjectMap;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * DecodeTable holding the full text of every phrase in an IntObjectMap.
+ * Each new entry copies its prefix phrase, which is how the decompressor
+ * originally worked; it is kept to compare against.
+ */
+public class StringDecodeTable implements DecodeTable {
+
+    /**
+     * Hashmap from code to phrase.
+     */
+    private final IntObjectMap<String> wordCode;
+
+    /**
+     * Constructor, the table starts with the 256 single-byte phrases.
+     */
+    public StringDecodeTable() {
+        this(4096);
+    }
+
+    /**
+     * Constructor with the largest table the decompressor will build.
+     * @param maxCodes number of codes before the table is reset
+     */
+    public StringDecodeTable(int maxCodes) {
+        wordCode = new IntObjectMap<>(maxCodes);
+        reset();
+    }
+
+    /**
+     * Key: int
+     * Value: String
+     * Put all 8 bits code into map.
+     */
+    @Override
+    public void reset() {
+        wordCode.clear();
+        for (int i = 0; i < 256; i++) {
+            wordCode.put(i, Character.toString((char) i));
+        }
+    }
+
+    @Override
+    public boolean contains(int code) {
+        return wordCode.containsKey(code);
+    }
+
+    @Override
+    public int firstByte(int code) {
+        return wordCode.get(code).charAt(0);
+    }
+
+    @Override
+    public void put(int prefixCode, int lastByte, int code) {
+        wordCode.put(code, wordCode.get(prefixCode) + (char) lastByte);
+    }
+
+    @Override
+    public void write(int code, OutputStream out) throws IOException {
+        for (char c : wordCode.get(code).toCharArray()) {
+            out.write(c);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import edu.cmu.andrew.zipeix.collections.LinearProbingHashMap;
+
+/**
+ * CodeWordDictionary keyed by the phrase text in a LinearProbingHashMap.
+ * Each lookup builds the String prefix + nextByte, which is how the
+ * compressor originally worked; it is kept to compare against, as
+ * new LZWCompression(StringKeyDictionary::new, StringDecodeTable::new).
+ * The map is sized for maxCodes phrases, so it never grows, and reset
+ * clears it in place.
+ */
+public class StringKeyDictionary implements CodeWordDictionary {
+
+    /**
+     * Hashmap from phrase to code.
+     */
+    private final LinearProbingHashMap<String, Integer> codeword;
+
+    /**
+     * Phrase of every code, so the prefix code can be turned back into text.
+     */
+    private final String[] phrases;
+
+    /**
+     * Constructor with the largest table the compressor will build.
+     * @param maxCodes number of codes before the table is reset
+     */
+    public StringKeyDictionary(int maxCodes) {
+        phrases = new String[maxCodes];
+        codeword = new LinearProbingHashMap<>(maxCodes);
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        codeword.clear();
+        for (int i = 0; i < 256; i++) {
+            phrases[i] = Character.toString((char) i);
+            codeword.put(phrases[i], i);
+        }
+    }
+
+    @Override
+    public int get(int prefixCode, int nextByte) {
+        Integer code = codeword.get(phrases[prefixCode] + (char) nextByte);
+        return code == null ? -1 : code;
+    }
+
+    @Override
+    public void put(int prefixCode, int nextByte, int code) {
+        phrases[code] = phrases[prefixCode] + (char) nextByte;
+        codeword.put(phrases[code], code);
+    }
+
+    @Override
+    public int getOrAdd(int prefixCode, int nextByte, int code) {
+        String phrase = phrases[prefixCode] + (char) nextByte;
+        Integer existing = codeword.putIfAbsent(phrase, code);
+        if (existing != null) {
+            return existing;
+        }
+        phrases[code] = phrase;
+        return -1;
+    }
+
+    /**
+     * Slots compared by putIfAbsent since the dictionary was built.
+     */
+    @Override
+    public long probes() {
+        return codeword.probes();
+    }
+}
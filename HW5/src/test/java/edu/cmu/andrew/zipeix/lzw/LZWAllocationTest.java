@@ -0,0 +1,123 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A warm LZWCompression compresses and decompresses without allocating: once
+ * every format and size has been compiled by the JIT and the case has been
+ * run once, it is run for CHECK_BYTES of input and the bytes
+ * allocated on the thread, measured with the HotSpot ThreadMXBean like the
+ * JMH GC profiler does, must stay below MAX_ALLOCATED_PER_MB per MB of input.
+ * Covers the LZWCorpus text, CSV and random inputs at 1 KB and 1 MB, in the
+ * fixed 12-bit, -b 16, -a and preset dictionary formats.
+ */
+class LZWAllocationTest {
+
+    private static final long CHECK_BYTES = 4L << 20;
+
+    /**
+     * Input each format is run for at each size before any case, so the codec
+     * is compiled by the JIT when allocation is measured.
+     */
+    private static final long WARM_UP_BYTES = 8L << 20;
+
+    /**
+     * Bytes a case may allocate per MB of input, compress and decompress together.
+     */
+    private static final long MAX_ALLOCATED_PER_MB = 1024;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final int[] SIZES = {1 << 10, 1 << 20};
+
+    private static final String[] FORMATS = {"fixed", "-b 16", "-a", "-D"};
+
+    private static LZWPresetDictionary dictionary;
+
+    @BeforeAll
+    static void warmUp() throws IOException {
+        dictionary = LZWPresetDictionary.train(new ByteArrayInputStream(LZWCorpus.generate("csv", 1 << 20)), 4000);
+        for (int size : SIZES) {
+            byte[] input = LZWCorpus.generate("text", size);
+            for (String format : FORMATS) {
+                LZWCompression lzw = codec(format);
+                for (long pass = 0; pass < WARM_UP_BYTES / input.length; pass++) {
+                    ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length);
+                    lzw.compress(new ByteArrayInputStream(input), compressed);
+                    lzw.decompress(new ByteArrayInputStream(compressed.toByteArray()),
+                            new ByteArrayOutputStream(input.length));
+                }
+            }
+        }
+    }
+
+    private static LZWCompression codec(String format) {
+        LZWCompression lzw = new LZWCompression();
+        if (!format.equals("fixed")) {
+            lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+            lzw.setAdaptiveReset(format.equals("-a"));
+            lzw.setPresetDictionary(format.equals("-D") ? dictionary : null);
+        }
+        return lzw;
+    }
+
+    static List<Arguments> cases() {
+        List<Arguments> cases = new ArrayList<>();
+        for (int size : SIZES) {
+            for (String corpus : LZWCorpus.KINDS) {
+                for (String format : FORMATS) {
+                    cases.add(Arguments.of(corpus, size, format));
+                }
+            }
+        }
+        return cases;
+    }
+
+    @ParameterizedTest(name = "{0} {1} {2}")
+    @MethodSource("cases")
+    void warmRoundTripDoesNotAllocate(String corpus, int size, String format) throws IOException {
+        LZWCompression lzw = codec(format);
+        byte[] input = LZWCorpus.generate(corpus, size);
+        long passes = Math.max(1, CHECK_BYTES / input.length);
+        ByteArrayInputStream source = new ByteArrayInputStream(input);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length + 16);
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream(input.length);
+        lzw.compress(source, compressed);
+        ByteArrayInputStream compressedSource = new ByteArrayInputStream(compressed.toByteArray());
+        long allocated = 0;
+        for (int warm = 0; warm < 2; warm++) {
+            allocated = allocatedBytes();
+            for (long pass = 0; pass < passes; pass++) {
+                source.reset();
+                compressed.reset();
+                lzw.compress(source, compressed);
+                compressedSource.reset();
+                decompressed.reset();
+                lzw.decompress(compressedSource, decompressed);
+            }
+            allocated = allocatedBytes() - allocated;
+        }
+        assertArrayEquals(input, decompressed.toByteArray());
+        double allocatedPerMegabyte = allocated / (passes * input.length / (double) (1 << 20));
+        assertTrue(allocatedPerMegabyte <= MAX_ALLOCATED_PER_MB,
+                () -> allocatedPerMegabyte + " bytes allocated per MB, above " + MAX_ALLOCATED_PER_MB);
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
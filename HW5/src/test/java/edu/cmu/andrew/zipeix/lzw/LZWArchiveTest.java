@@ -0,0 +1,147 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LZWArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * A tree with nested directories, an empty file, an empty directory and files of every corpus kind.
+     */
+    private Path tree() throws IOException {
+        Path root = directory.resolve("tree");
+        Files.createDirectories(root.resolve("a/b/c"));
+        Files.createDirectories(root.resolve("empty-directory"));
+        Files.write(root.resolve("top.txt"), LZWCorpus.generate("text", 5000));
+        Files.write(root.resolve("empty"), new byte[0]);
+        Files.write(root.resolve("a/data.csv"), LZWCorpus.generate("csv", 70000));
+        Files.write(root.resolve("a/b/random.bin"), LZWCorpus.generate("random", 3000));
+        Files.write(root.resolve("a/b/c/deep.txt"), LZWCorpus.generate("text", 1));
+        return root;
+    }
+
+    private static List<String> files(Path root) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(Files::isRegularFile)
+                    .map(file -> root.relativize(file).toString().replace(root.getFileSystem().getSeparator(), "/"))
+                    .sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void directoryRoundTrip() throws IOException {
+        Path root = tree();
+        Path archive = directory.resolve("tree.lzwa");
+        LZWCompression lzw = new LZWCompression();
+        lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+        LZWArchive archiver = new LZWArchive(lzw);
+        archiver.create(root.toString(), archive.toString());
+
+        List<String> names = new ArrayList<>();
+        for (LZWArchive.Entry entry : archiver.list(archive.toString())) {
+            names.add(entry.getName());
+            assertEquals(Files.size(root.resolve(entry.getName())), entry.getLength());
+        }
+        assertEquals(files(root), names);
+
+        Path out = directory.resolve("out");
+        new LZWArchive(lzw).extract(archive.toString(), out.toString());
+        assertEquals(files(root), files(out));
+        for (String name : names) {
+            assertArrayEquals(Files.readAllBytes(root.resolve(name)), Files.readAllBytes(out.resolve(name)), name);
+        }
+    }
+
+    @Test
+    void singleFileExtraction() throws IOException {
+        Path root = tree();
+        Path archive = directory.resolve("tree.lzwa");
+        LZWArchive archiver = new LZWArchive(new LZWCompression());
+        archiver.create(root.toString(), archive.toString());
+
+        for (String name : new String[] {"a/b/c/deep.txt", "empty", "a/data.csv"}) {
+            Path out = directory.resolve("single-" + name.replace('/', '-'));
+            archiver.extract(archive.toString(), name, out.toString());
+            assertArrayEquals(Files.readAllBytes(root.resolve(name)), Files.readAllBytes(out), name);
+        }
+        assertThrows(FileNotFoundException.class,
+                () -> archiver.extract(archive.toString(), "a/missing", directory.resolve("missing").toString()));
+        assertFalse(Files.exists(directory.resolve("missing")));
+    }
+
+    @Test
+    void singleFileIsArchivedUnderItsName() throws IOException {
+        Path file = directory.resolve("alone.txt");
+        Files.write(file, LZWCorpus.generate("text", 2000));
+        Path archive = directory.resolve("alone.lzwa");
+        LZWArchive archiver = new LZWArchive(new LZWCompression());
+        archiver.create(file.toString(), archive.toString());
+        assertEquals("alone.txt", archiver.list(archive.toString()).get(0).getName());
+    }
+
+    @Test
+    void corruptFileIsNotLeftOnDisk() throws IOException {
+        Path root = tree();
+        Path archive = directory.resolve("tree.lzwa");
+        LZWArchive archiver = new LZWArchive(new LZWCompression());
+        archiver.create(root.toString(), archive.toString());
+        // flip a bit in the middle of the compressed bytes of top.txt, the last file before the directory
+        LZWArchive.Entry top = archiver.list(archive.toString()).get(4);
+        assertEquals("top.txt", top.getName());
+        try (RandomAccessFile file = new RandomAccessFile(archive.toFile(), "rw")) {
+            file.seek(file.length() - 16);
+            long position = file.readLong() - top.getCompressedLength() / 2;
+            file.seek(position);
+            int b = file.read();
+            file.seek(position);
+            file.write(b ^ 0x10);
+        }
+
+        Path out = directory.resolve("top.txt");
+        assertThrows(IOException.class, () -> archiver.extract(archive.toString(), "top.txt", out.toString()));
+        assertFalse(Files.exists(out));
+        try (Stream<Path> left = Files.list(directory)) {
+            assertTrue(left.noneMatch(path -> path.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void directoryCountLargerThanTheDirectoryIsRejected() throws IOException {
+        Path root = tree();
+        Path archive = directory.resolve("tree.lzwa");
+        LZWArchive archiver = new LZWArchive(new LZWCompression());
+        archiver.create(root.toString(), archive.toString());
+        byte[] bytes = Files.readAllBytes(archive);
+        ByteBuffer trailer = ByteBuffer.wrap(bytes, bytes.length - 16, 16);
+        long directoryOffset = trailer.getLong();
+        for (int count : new int[] {Integer.MAX_VALUE, -1, 7}) {
+            ByteBuffer.wrap(bytes).putInt(bytes.length - 8, count);
+            // keep the directory checksum valid, so only the count check can catch it
+            int crc = ParallelLZWCompression.crc(bytes, (int) directoryOffset, bytes.length - 4 - (int) directoryOffset);
+            ByteBuffer.wrap(bytes).putInt(bytes.length - 4, crc);
+            Files.write(archive, bytes);
+            IOException e = assertThrows(IOException.class, () -> archiver.list(archive.toString()));
+            assertTrue(e.getMessage().startsWith("Corrupt LZW archive directory"), e.getMessage());
+        }
+    }
+}
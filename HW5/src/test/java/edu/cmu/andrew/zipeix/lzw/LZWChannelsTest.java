@@ -0,0 +1,35 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class LZWChannelsTest {
+
+    @Test
+    void roundTripWithPresetDictionary() throws IOException {
+        byte[] input = LZWCorpus.generate("csv", 1 << 14);
+        LZWCompression lzw = new LZWCompression();
+        lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+        lzw.setPresetDictionary(LZWPresetDictionary.train(new ByteArrayInputStream(input), 200));
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = LZWChannels.compressing(Channels.newChannel(compressed), lzw)) {
+            channel.write(ByteBuffer.wrap(input));
+        }
+        ReadableByteChannel channel = LZWChannels.decompressing(
+                Channels.newChannel(new ByteArrayInputStream(compressed.toByteArray())), lzw);
+        try (InputStream decompressed = Channels.newInputStream(channel)) {
+            assertArrayEquals(input, decompressed.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LZWCompressionTest {
+
+    private static byte[] compress(LZWCompression lzw, byte[] input) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        lzw.compress(new ByteArrayInputStream(input), compressed);
+        return compressed.toByteArray();
+    }
+
+    private static byte[] decompress(LZWCompression lzw, byte[] compressed) throws IOException {
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        lzw.decompress(new ByteArrayInputStream(compressed), decompressed);
+        return decompressed.toByteArray();
+    }
+
+    @Test
+    void stringKeyTablesRoundTripInEveryFormat() throws IOException {
+        byte[] input = LZWCorpus.generate("text", 1 << 18);
+        for (int format = 0; format < 3; format++) {
+            LZWCompression strings = new LZWCompression(StringKeyDictionary::new, StringDecodeTable::new);
+            LZWCompression packed = new LZWCompression();
+            for (LZWCompression lzw : new LZWCompression[] {strings, packed}) {
+                if (format > 0) {
+                    lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+                    lzw.setAdaptiveReset(format == 2);
+                }
+            }
+            byte[] compressed = compress(strings, input);
+            assertArrayEquals(compress(packed, input), compressed);
+            assertArrayEquals(input, decompress(strings, compressed));
+        }
+    }
+
+    @Test
+    void compressRunningDuringSetterDoesNotLeaveItsStream() throws IOException {
+        LZWCompression lzw = new LZWCompression();
+        byte[] input = LZWCorpus.generate("text", 1 << 12);
+        // change the format while the first compress is reading its input
+        ByteArrayInputStream changing = new ByteArrayInputStream(input) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                if (pos == 0) {
+                    lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+                }
+                return super.read(b, off, len);
+            }
+        };
+        lzw.compress(changing, new ByteArrayOutputStream());
+
+        byte[] compressed = compress(lzw, input);
+        assertEquals(LZWCompression.VARIABLE_WIDTH_HEADER | LZWCompression.MAX_WIDTH, compressed[0] & 0xFF);
+        assertArrayEquals(input, decompress(lzw, compressed));
+    }
+
+    @Test
+    void decompressRunningDuringSetterDoesNotLeaveItsStream() throws IOException {
+        LZWCompression lzw = new LZWCompression();
+        lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+        byte[] input = LZWCorpus.generate("csv", 1 << 12);
+        LZWPresetDictionary dictionary = LZWPresetDictionary.train(new ByteArrayInputStream(input), 100);
+        byte[] plain = compress(lzw, input);
+        ByteArrayOutputStream changing = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                if (count == 0) {
+                    lzw.setPresetDictionary(dictionary);
+                }
+                super.write(b, off, len);
+            }
+        };
+        lzw.decompress(new ByteArrayInputStream(plain), changing);
+        assertArrayEquals(input, changing.toByteArray());
+
+        assertArrayEquals(input, decompress(lzw, compress(lzw, input)));
+    }
+
+    @Test
+    void presetDictionaryRoundTrip() throws IOException {
+        byte[] sample = LZWCorpus.generate("csv", 1 << 16);
+        LZWPresetDictionary dictionary = LZWPresetDictionary.train(new ByteArrayInputStream(sample), 1000);
+        byte[] message = LZWCorpus.generate("csv", 1 << 9);
+        LZWCompression lzw = new LZWCompression();
+        lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+        byte[] cold = compress(lzw, message);
+        lzw.setPresetDictionary(dictionary);
+        for (boolean adaptiveReset : new boolean[] {false, true}) {
+            lzw.setAdaptiveReset(adaptiveReset);
+            byte[] compressed = compress(lzw, message);
+            assertTrue(compressed.length < cold.length, compressed.length + " >= " + cold.length);
+            assertArrayEquals(message, decompress(lzw, compressed));
+            // the table resets many times in a long input, each time back to the preset phrases
+            assertArrayEquals(sample, decompress(lzw, compress(lzw, sample)));
+        }
+
+        LZWCompression serialized = new LZWCompression();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dictionary.write(bytes);
+        serialized.setPresetDictionary(LZWPresetDictionary.read(new ByteArrayInputStream(bytes.toByteArray())));
+        assertArrayEquals(message, decompress(serialized, compress(lzw, message)));
+    }
+
+    @Test
+    void presetDictionaryIdMismatchIsRejected() throws IOException {
+        LZWPresetDictionary csv = LZWPresetDictionary.train(new ByteArrayInputStream(LZWCorpus.generate("csv", 1 << 14)), 200);
+        LZWPresetDictionary text = LZWPresetDictionary.train(new ByteArrayInputStream(LZWCorpus.generate("text", 1 << 14)), 200);
+        LZWCompression lzw = new LZWCompression();
+        lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+        lzw.setPresetDictionary(csv);
+        byte[] compressed = compress(lzw, LZWCorpus.generate("csv", 1 << 10));
+
+        lzw.setPresetDictionary(text);
+        IOException e = assertThrows(IOException.class, () -> decompress(lzw, compressed));
+        assertTrue(e.getMessage().contains(Integer.toHexString(csv.id())), e.getMessage());
+        lzw.setPresetDictionary(null);
+        assertThrows(IOException.class, () -> decompress(lzw, compressed));
+    }
+
+    @Test
+    void presetDictionaryNeedsVariableWidthCodes() throws IOException {
+        LZWPresetDictionary dictionary = LZWPresetDictionary.train(new ByteArrayInputStream(LZWCorpus.generate("csv", 1 << 14)), 200);
+        LZWCompression lzw = new LZWCompression();
+        lzw.setPresetDictionary(dictionary);
+        assertThrows(IllegalArgumentException.class, () -> compress(lzw, new byte[] {1, 2, 3}));
+        // a fixed 12-bit stream needs no dictionary, so one that is set does not get in the way
+        byte[] input = LZWCorpus.generate("text", 1 << 12);
+        assertArrayEquals(input, decompress(lzw, compress(new LZWCompression(), input)));
+    }
+
+    @Test
+    void presetDictionaryWithFixedWidthIsRejectedOnTheCommandLine(@TempDir Path directory) throws IOException {
+        Path dictionary = directory.resolve("csv.dict");
+        try (OutputStream out = Files.newOutputStream(dictionary)) {
+            LZWPresetDictionary.train(new ByteArrayInputStream(LZWCorpus.generate("csv", 1 << 14)), 200).write(out);
+        }
+        Path input = directory.resolve("input.csv");
+        Files.write(input, LZWCorpus.generate("csv", 1 << 10));
+        Path output = directory.resolve("output.lzw");
+        LZWCompression.main(new String[] {"-c", "-b", "0", "-D", dictionary.toString(), input.toString(), output.toString()});
+        assertFalse(Files.exists(output));
+        LZWCompression.main(new String[] {"-c", "-D", dictionary.toString(), "-b", "0", input.toString(), output.toString()});
+        assertFalse(Files.exists(output));
+    }
+
+    @Test
+    void memoryMappedParallelCompressIsRejected() {
+        LZWCompression lzw = new LZWCompression();
+        lzw.setBlockSize(ParallelLZWCompression.DEFAULT_BLOCK_SIZE);
+        lzw.setMemoryMapped(true);
+        assertThrows(IllegalArgumentException.class, () -> lzw.LZWCompress("input.txt", "output.lzw"));
+    }
+}
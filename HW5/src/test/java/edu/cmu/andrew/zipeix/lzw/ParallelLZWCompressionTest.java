@@ -0,0 +1,54 @@
+package edu.cmu.andrew.zipeix.lzw;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelLZWCompressionTest {
+
+    private static final int BLOCK_SIZE = 1 << 12;
+
+    @TempDir
+    Path directory;
+
+    private Path compressed(byte[] input) throws IOException {
+        Path plain = directory.resolve("input.txt");
+        Path framed = directory.resolve("input.lzw");
+        Files.write(plain, input);
+        new ParallelLZWCompression(new LZWCompression(), BLOCK_SIZE).compress(plain.toString(), framed.toString());
+        return framed;
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        byte[] input = LZWCorpus.generate("text", 5 * BLOCK_SIZE + 17);
+        Path output = directory.resolve("output.txt");
+        new ParallelLZWCompression(new LZWCompression(), BLOCK_SIZE)
+                .decompress(compressed(input).toString(), output.toString());
+        assertArrayEquals(input, Files.readAllBytes(output));
+    }
+
+    @Test
+    void corruptFrameThrowsItsOwnIOException() throws IOException {
+        Path framed = compressed(LZWCorpus.generate("text", 5 * BLOCK_SIZE));
+        try (RandomAccessFile file = new RandomAccessFile(framed.toFile(), "rw")) {
+            // CRC32C of the first frame, after the header byte and the two lengths
+            file.seek(9);
+            int crc = file.readInt();
+            file.seek(9);
+            file.writeInt(~crc);
+        }
+        ParallelLZWCompression parallel = new ParallelLZWCompression(new LZWCompression(), BLOCK_SIZE);
+        IOException e = assertThrows(IOException.class, () ->
+                parallel.decompress(framed.toString(), directory.resolve("output.txt").toString()));
+        assertTrue(e.getMessage().startsWith("CRC32C mismatch in LZW frame"), e::toString);
+    }
+}
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.turing;
+
 public class Transition {
 
     /**
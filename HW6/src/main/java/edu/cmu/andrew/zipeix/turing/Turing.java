@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.turing;
+
 import java.util.Arrays;
 
 public class Turing {
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.turing;
+
 public class TuringDecider {
     public static void main(String[] args) throws Exception {
         Turing machine1 = new Turing(8);
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.turing;
+
 public class TuringSubtractor {
     public static void main( String args[]) throws Exception {
         // A SEVEN state machine
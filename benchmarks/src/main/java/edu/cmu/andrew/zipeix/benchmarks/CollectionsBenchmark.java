@@ -0,0 +1,103 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.collections.DynamicStack;
+import edu.cmu.andrew.zipeix.collections.LinearProbingHashMap;
+import edu.cmu.andrew.zipeix.collections.MyHashMap;
+import edu.cmu.andrew.zipeix.collections.Queue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the core-collections maps, stack and queue.
+ * get cycles through keys that are all in the map; the stack and queue
+ * benchmarks push BATCH items and take them all out again.
+ * Usage: java -jar benchmarks/target/benchmarks.jar CollectionsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionsBenchmark {
+
+    private static final int BATCH = 64;
+
+    @Param({"1000", "100000"})
+    private int entries;
+
+    private Integer[] keys;
+
+    private int next;
+
+    private MyHashMap<Integer, Integer> chained;
+
+    private LinearProbingHashMap<Integer, Integer> probing;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        keys = new Integer[entries];
+        chained = new MyHashMap<>(entries);
+        probing = new LinearProbingHashMap<>(entries);
+        for (int i = 0; i < entries; i++) {
+            keys[i] = random.nextInt();
+            chained.put(keys[i], i);
+            probing.put(keys[i], i);
+        }
+    }
+
+    private Integer nextKey() {
+        Integer key = keys[next];
+        next = next + 1 == keys.length ? 0 : next + 1;
+        return key;
+    }
+
+    @Benchmark
+    public Integer myHashMapGet() {
+        return chained.get(nextKey());
+    }
+
+    @Benchmark
+    public Integer linearProbingGet() {
+        return probing.get(nextKey());
+    }
+
+    @Benchmark
+    public Object dynamicStackPushPop() {
+        DynamicStack stack = new DynamicStack();
+        for (int i = 0; i < BATCH; i++) {
+            stack.push(keys[i % keys.length]);
+        }
+        Object last = null;
+        while (!stack.isEmpty()) {
+            last = stack.pop();
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Object queueEnqueueDequeue() {
+        Queue queue = new Queue();
+        for (int i = 0; i < BATCH; i++) {
+            queue.enQueue(keys[i % keys.length]);
+        }
+        Object last = null;
+        while (!queue.isEmpty()) {
+            last = queue.deQueue();
+        }
+        return last;
+    }
+}
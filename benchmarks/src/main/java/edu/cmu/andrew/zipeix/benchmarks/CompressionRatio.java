@@ -0,0 +1,37 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Compressed size in percent of the input, reported by JMH next to the score
+ * of a compression benchmark as the percent counter.
+ * JMH adds up EVENTS counters over the measurement iterations of every fork,
+ * so each iteration reports its share of the ratio and the sum is the ratio.
+ */
+@AuxCounters(AuxCounters.Type.EVENTS)
+@State(Scope.Thread)
+public class CompressionRatio {
+
+    public double percent;
+
+    private double share;
+
+    @Setup(Level.Iteration)
+    public void setUp(BenchmarkParams params) {
+        share = 1.0 / (params.getMeasurement().getCount() * Math.max(1, params.getForks()));
+        percent = 0;
+    }
+
+    /**
+     * @param input uncompressed bytes of the operation
+     * @param compressed compressed bytes of the operation
+     */
+    void record(long input, long compressed) {
+        percent = 100.0 * compressed / input * share;
+    }
+}
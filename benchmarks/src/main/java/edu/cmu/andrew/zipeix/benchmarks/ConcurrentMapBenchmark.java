@@ -0,0 +1,135 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.collections.ConcurrentMyHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput of ConcurrentMyHashMap against ConcurrentHashMap shared by
+ * all benchmark threads, each doing 90% get and 10% put on random keys.
+ * Both maps are created with one bucket per key and filled before every
+ * iteration. Half of the puts replace the value of a key that was filled in,
+ * the other half insert a key that is not in the map yet, so both write paths
+ * are timed.
+ * Usage: java -jar benchmarks/target/benchmarks.jar ConcurrentMapBenchmark -t 1,
+ *        then -t 2, 4, 8, 16 and 32 for the other thread counts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentMapBenchmark {
+
+    /**
+     * Share of the operations that are put, in percent.
+     */
+    private static final int WRITE_PERCENT = 10;
+
+    /**
+     * Share of the operations that are put of a new key, in percent.
+     */
+    private static final int INSERT_PERCENT = WRITE_PERCENT / 2;
+
+    /**
+     * Operations of one map, so both maps go through the same benchmark.
+     */
+    private interface Map {
+        void put(Integer key, Integer value);
+        Integer get(Integer key);
+    }
+
+    @Param({"ConcurrentMyHashMap", "ConcurrentHashMap"})
+    private String map;
+
+    @Param({"100000"})
+    private int keys;
+
+    private Integer[] boxed;
+
+    private Map shared;
+
+    /**
+     * Random source and next new key of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Worker {
+        private SplittableRandom random;
+        private int inserted;
+        private int step;
+
+        @Setup(Level.Iteration)
+        public void setUp(ConcurrentMapBenchmark benchmark, ThreadParams thread) {
+            random = new SplittableRandom(thread.getThreadIndex());
+            // new keys of this thread: index, index + threads, ... after the filled keys
+            inserted = benchmark.keys + thread.getThreadIndex();
+            step = thread.getThreadCount();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void box() {
+        boxed = new Integer[keys];
+        for (int i = 0; i < keys; i++) {
+            boxed[i] = i;
+        }
+    }
+
+    /**
+     * A new filled map for every iteration, so the inserts of one iteration do not lengthen the next.
+     */
+    @Setup(Level.Iteration)
+    public void fill() {
+        if (map.equals("ConcurrentMyHashMap")) {
+            ConcurrentMyHashMap<Integer, Integer> mine = new ConcurrentMyHashMap<>(keys);
+            shared = new Map() {
+                public void put(Integer key, Integer value) { mine.put(key, value); }
+                public Integer get(Integer key) { return mine.get(key); }
+            };
+        } else {
+            ConcurrentHashMap<Integer, Integer> jdk = new ConcurrentHashMap<>(keys);
+            shared = new Map() {
+                public void put(Integer key, Integer value) { jdk.put(key, value); }
+                public Integer get(Integer key) { return jdk.get(key); }
+            };
+        }
+        for (Integer key : boxed) {
+            shared.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Integer getOrPut(Worker worker) {
+        Integer key = boxed[worker.random.nextInt(keys)];
+        int operation = worker.random.nextInt(100);
+        if (operation < INSERT_PERCENT) {
+            Integer inserted = worker.inserted;
+            worker.inserted += worker.step;
+            shared.put(inserted, inserted);
+            return inserted;
+        }
+        if (operation < WRITE_PERCENT) {
+            shared.put(key, key);
+            return key;
+        }
+        return shared.get(key);
+    }
+}
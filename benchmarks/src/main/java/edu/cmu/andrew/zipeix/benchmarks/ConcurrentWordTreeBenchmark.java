@@ -0,0 +1,106 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.spellcheck.ConcurrentWordTree;
+import edu.cmu.andrew.zipeix.spellcheck.RedBlackTree;
+import edu.cmu.andrew.zipeix.spellcheck.WordLookup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput of ConcurrentWordTree lookups in both modes, by three reader
+ * threads, with no writer (group read) and with one writer thread adding a
+ * new word every millisecond (group readWrite).
+ * Readers only search for words of the dictionary file, so every search must
+ * succeed whatever the writer has done; a failed search or a comparison count
+ * above the red-black bound stops the benchmark with an IllegalStateException.
+ * Usage: java -jar benchmarks/target/benchmarks.jar ConcurrentWordTreeBenchmark, from the project root
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Group)
+public class ConcurrentWordTreeBenchmark {
+
+    @Param({WordsFile.DEFAULT})
+    private String dictionary;
+
+    @Param({"LOCKED", "COPY_ON_WRITE"})
+    private ConcurrentWordTree.Mode mode;
+
+    private String[] queries;
+
+    private ConcurrentWordTree tree;
+
+    /**
+     * 2 * lg(n + 1) nodes on a path, for the largest size the writer can reach in a trial.
+     */
+    private int bound;
+
+    private long adds;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> sorted = WordsFile.read(dictionary);
+        queries = sorted.toArray(new String[0]);
+        tree = new ConcurrentWordTree(new RedBlackTree(sorted.iterator()), mode);
+        bound = (int) Math.ceil(2 * Math.log(queries.length + 100000 + 1) / Math.log(2));
+    }
+
+    /**
+     * Random source of one reader thread.
+     */
+    @State(Scope.Thread)
+    public static class Reader {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    private WordLookup lookup(Reader reader) {
+        WordLookup lookup = tree.lookup(queries[reader.random.nextInt(queries.length)]);
+        if (!lookup.isFound() || lookup.getComparisons() > bound) {
+            throw new IllegalStateException("Lookup failed or took too many comparisons: " + lookup);
+        }
+        return lookup;
+    }
+
+    @Benchmark
+    @Group("read")
+    @GroupThreads(3)
+    public WordLookup readOnly(Reader reader) {
+        return lookup(reader);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public WordLookup readWhileWriting(Reader reader) {
+        return lookup(reader);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public boolean write() throws InterruptedException {
+        boolean added = tree.add(queries[(int) (adds % queries.length)] + "-" + adds);
+        adds++;
+        Thread.sleep(1);
+        return added;
+    }
+}
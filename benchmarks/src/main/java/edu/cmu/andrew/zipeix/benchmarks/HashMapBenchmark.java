@@ -0,0 +1,145 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.collections.LinearProbingHashMap;
+import edu.cmu.andrew.zipeix.collections.MyHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of put, get and containsKey for MyHashMap and LinearProbingHashMap.
+ * fill puts every key into a new map, so its time per operation covers the
+ * whole map; LinearProbingHashMap starts small, so it includes every resize.
+ * MyHashMap has one bucket per entry; MyHashMap256 has 256 buckets as LZW
+ * creates it and is not in the defaults, since beyond 4K entries the chains
+ * make every operation a scan of thousands of nodes.
+ * Usage: java -jar benchmarks/target/benchmarks.jar HashMapBenchmark
+ *        [-p map=MyHashMap256 -p entries=4096]
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Thread)
+public class HashMapBenchmark {
+
+    /**
+     * Operations of one map, so both maps go through the same benchmarks.
+     */
+    private interface Map {
+        void put(Integer key, Integer value);
+        Integer get(Integer key);
+        boolean containsKey(Integer key);
+    }
+
+    @Param({"MyHashMap", "LinearProbingHashMap"})
+    private String map;
+
+    @Param({"4096", "1000000"})
+    private int entries;
+
+    private Integer[] keys;
+
+    private Integer[] missing;
+
+    private Map filled;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        keys = keys(0, entries);
+        missing = keys(entries, entries);
+        filled = fill();
+    }
+
+    private Map newMap() {
+        switch (map) {
+            case "MyHashMap256":
+                return wrap(new MyHashMap<>(256));
+            case "MyHashMap":
+                return wrap(new MyHashMap<>(entries));
+            case "LinearProbingHashMap":
+                LinearProbingHashMap<Integer, Integer> probing = new LinearProbingHashMap<>(16);
+                return new Map() {
+                    public void put(Integer key, Integer value) { probing.put(key, value); }
+                    public Integer get(Integer key) { return probing.get(key); }
+                    public boolean containsKey(Integer key) { return probing.containsKey(key); }
+                };
+            default:
+                throw new IllegalArgumentException("Unknown map " + map);
+        }
+    }
+
+    private static Map wrap(MyHashMap<Integer, Integer> map) {
+        return new Map() {
+            public void put(Integer key, Integer value) { map.put(key, value); }
+            public Integer get(Integer key) { return map.get(key); }
+            public boolean containsKey(Integer key) { return map.containsKey(key); }
+        };
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = i + 1 == entries ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Map fill() {
+        Map map = newMap();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Integer get() {
+        return filled.get(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean containsMissingKey() {
+        return filled.containsKey(missing[nextIndex()]);
+    }
+
+    /**
+     * Distinct keys in random order, boxed up front so boxing is not timed.
+     * The numbers first to first + n - 1 go through the MurmurHash3 finalizer, which
+     * scatters them over the whole int range without making two of them equal.
+     */
+    private static Integer[] keys(int first, int n) {
+        Integer[] keys = new Integer[n];
+        Random random = new Random(first);
+        for (int i = 0; i < n; i++) {
+            int h = first + i;
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            h ^= h >>> 16;
+            keys[i] = h;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer t = keys[i];
+            keys[i] = keys[j];
+            keys[j] = t;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,114 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.lzw.LZWCompression;
+import edu.cmu.andrew.zipeix.lzw.LZWCorpus;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of LZWCompression compress and decompress, in memory, on the
+ * LZWCorpus text, CSV and random inputs of 1 KB, 1 MB and 100 MB, for the
+ * fixed 12-bit, -b 16 and -a formats.
+ * One operation is one whole input; the megabytes counter gives the rate in
+ * MB/s of input, and the percent counter the compressed size of each case.
+ * The streams are rewound inside the benchmark methods rather than in a
+ * Level.Invocation setup, whose timestamps would cost more than a 1 KB run.
+ * With the GC profiler, gc.alloc.rate.norm is the bytes allocated per input.
+ * Usage: java -jar benchmarks/target/benchmarks.jar LZWBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Thread)
+public class LZWBenchmark {
+
+    @Param({"text", "csv", "random"})
+    private String corpus;
+
+    @Param({"1024", "1048576", "104857600"})
+    private int size;
+
+    @Param({"fixed", "b16", "adaptive"})
+    private String format;
+
+    private LZWCompression lzw;
+
+    private byte[] input;
+
+    private ByteArrayInputStream plain;
+
+    private ByteArrayInputStream compressed;
+
+    private ByteArrayOutputStream output;
+
+    private long compressedLength;
+
+    /**
+     * Megabytes of input processed, reported by JMH as MB/s.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Megabytes {
+        public double megabytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        lzw = new LZWCompression();
+        if (!format.equals("fixed")) {
+            lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+            lzw.setAdaptiveReset(format.equals("adaptive"));
+        }
+        input = LZWCorpus.generate(corpus, size);
+        output = new ByteArrayOutputStream(size + 16);
+        lzw.compress(new ByteArrayInputStream(input), output);
+        byte[] data = output.toByteArray();
+
+        output.reset();
+        lzw.decompress(new ByteArrayInputStream(data), output);
+        if (!Arrays.equals(output.toByteArray(), input)) {
+            throw new IOException("Round trip of " + corpus + " " + size + " " + format + " does not match");
+        }
+        compressedLength = data.length;
+        plain = new ByteArrayInputStream(input);
+        compressed = new ByteArrayInputStream(data);
+    }
+
+    @Benchmark
+    public int compress(Megabytes counter, CompressionRatio ratio) throws IOException {
+        plain.reset();
+        output.reset();
+        lzw.compress(plain, output);
+        counter.megabytes += input.length / 1e6;
+        ratio.record(input.length, output.size());
+        return output.size();
+    }
+
+    @Benchmark
+    public int decompress(Megabytes counter, CompressionRatio ratio) throws IOException {
+        compressed.reset();
+        output.reset();
+        lzw.decompress(compressed, output);
+        counter.megabytes += input.length / 1e6;
+        ratio.record(input.length, compressedLength);
+        return output.size();
+    }
+}
@@ -0,0 +1,60 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.collections.SinglyLinkedList;
+import edu.cmu.andrew.zipeix.merkle.Part3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the Merkle tree building blocks: hashing a line with
+ * Part3.h, and hashing every line of a list read back with getObjectAt, as
+ * Part3 builds the first level of the tree.
+ * Usage: java -jar benchmarks/target/benchmarks.jar MerkleBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MerkleBenchmark {
+
+    @Param({"100", "1000"})
+    private int lines;
+
+    private SinglyLinkedList<Void, String> list;
+
+    @Setup
+    public void setUp() {
+        list = new SinglyLinkedList<>();
+        for (int i = 0; i < lines; i++) {
+            list.addAtEndNode("11,1990-01-01," + i * 31 + ",THEFT,PITTSBURGH,PA," + i);
+        }
+    }
+
+    @Benchmark
+    public String hashLine() throws NoSuchAlgorithmException {
+        return Part3.h(list.getObjectAt(0));
+    }
+
+    @Benchmark
+    public SinglyLinkedList<Void, String> hashLevel() throws NoSuchAlgorithmException {
+        SinglyLinkedList<Void, String> level = new SinglyLinkedList<>();
+        for (int i = 0; i < list.countNodes(); i++) {
+            level.addAtEndNode(Part3.h(list.getObjectAt(i)));
+        }
+        return level;
+    }
+}
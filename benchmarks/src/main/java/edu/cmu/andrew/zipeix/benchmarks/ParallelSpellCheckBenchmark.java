@@ -0,0 +1,149 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.spellcheck.FrozenWordTree;
+import edu.cmu.andrew.zipeix.spellcheck.ParallelSpellChecker;
+import edu.cmu.andrew.zipeix.spellcheck.RedBlackTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of spell checking a generated document with the Scanner and
+ * split loop the >f command used before, against ParallelSpellChecker with
+ * several chunk sizes. The document is made of dictionary words with
+ * punctuation, one word in fifty with a letter changed, and words repeating
+ * as in real text. Every checker must report the same number of misspellings.
+ * Usage: java -jar benchmarks/target/benchmarks.jar ParallelSpellCheckBenchmark, from the project root
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Thread)
+public class ParallelSpellCheckBenchmark {
+
+    private static final String[] PUNCTUATION = {" ", " ", " ", " ", ", ", ". ", "; ", " - ", "'s "};
+
+    @Param({WordsFile.DEFAULT})
+    private String dictionary;
+
+    @Param({"16"})
+    private int megabytes;
+
+    /**
+     * scanner for the Scanner and split loop, otherwise the chunk size of ParallelSpellChecker.
+     */
+    @Param({"scanner", "16384", "65536", "1048576", "4194304"})
+    private String checker;
+
+    private FrozenWordTree words;
+
+    private File document;
+
+    private int expected;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> sorted = WordsFile.read(dictionary);
+        words = new RedBlackTree(sorted.iterator()).freeze();
+        document = File.createTempFile("document", ".txt");
+        write(document, sorted, megabytes);
+        expected = scannerCheck();
+        if (check() != expected) {
+            throw new IllegalStateException(checker + " does not find the " + expected + " misspellings of the Scanner loop");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        document.delete();
+    }
+
+    /**
+     * @return number of misspellings
+     */
+    @Benchmark
+    public int check() throws IOException {
+        if (checker.equals("scanner")) {
+            return scannerCheck();
+        }
+        return new ParallelSpellChecker(words, Integer.parseInt(checker)).check(document.getPath())
+                .getMisspellings().size();
+    }
+
+    /**
+     * The loop of the >f command before ParallelSpellChecker, counting instead of printing.
+     */
+    private int scannerCheck() throws IOException {
+        int misspelled = 0;
+        try (Scanner scanner = new Scanner(document)) {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine();
+                String[] wordsFromText = line.split("\\W");
+                if (wordsFromText.length > 1) {
+                    for (String word : wordsFromText) {
+                        if (!word.equals("") && !words.contains(word)) {
+                            misspelled++;
+                        }
+                    }
+                } else if (!words.contains(line)) {
+                    misspelled++;
+                }
+            }
+        }
+        return misspelled;
+    }
+
+    /**
+     * Lines of about 70 chars, from a fixed seed. Most words come from a
+     * vocabulary of a few thousand, the way text repeats its words.
+     */
+    private static void write(File document, List<String> words, int megabytes) throws IOException {
+        Random random = new Random(42);
+        String[] vocabulary = new String[4096];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = words.get(random.nextInt(words.size()));
+        }
+        long target = (long) megabytes << 20;
+        long written = 0;
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(document))) {
+            StringBuilder line = new StringBuilder();
+            while (written < target) {
+                line.setLength(0);
+                while (line.length() < 70) {
+                    String word = random.nextInt(4) == 0
+                            ? words.get(random.nextInt(words.size()))
+                            : vocabulary[random.nextInt(vocabulary.length)];
+                    if (random.nextInt(50) == 0) {
+                        char[] chars = word.toCharArray();
+                        chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+                        word = new String(chars);
+                    }
+                    line.append(word).append(PUNCTUATION[random.nextInt(PUNCTUATION.length)]);
+                }
+                line.append('\n');
+                writer.write(line.toString());
+                written += line.length();
+            }
+        }
+    }
+}
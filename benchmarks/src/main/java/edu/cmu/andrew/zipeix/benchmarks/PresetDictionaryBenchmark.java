@@ -0,0 +1,163 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.lzw.LZWCompression;
+import edu.cmu.andrew.zipeix.lzw.LZWPresetDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of LZW on small JSON and CSV records, one message per
+ * operation, with a cold table against tables primed with an
+ * LZWPresetDictionary. Dictionaries are trained on one set of messages and
+ * measured on another generated from a different seed.
+ * The percent counter is the compressed size of all messages together.
+ * Usage: java -jar benchmarks/target/benchmarks.jar PresetDictionaryBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PresetDictionaryBenchmark {
+
+    private static final int MESSAGES = 2048;
+
+    private static final String[] CITIES = {"Pittsburgh", "Philadelphia", "Allentown", "Erie", "Reading", "Scranton"};
+
+    private static final String[] STATUSES = {"open", "closed", "pending", "review"};
+
+    @Param({"json", "csv"})
+    private String kind;
+
+    /**
+     * cold12 and cold16 for an empty 12-bit or 16-bit table, otherwise the
+     * entries of the preset dictionary; max is the default of LZWPresetDictionary.train.
+     */
+    @Param({"cold12", "cold16", "1000", "4000", "16000", "max"})
+    private String table;
+
+    private LZWCompression lzw;
+
+    private byte[][] messages;
+
+    private byte[][] compressed;
+
+    private long in;
+
+    private long out;
+
+    private ByteArrayOutputStream output;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        lzw = new LZWCompression();
+        if (!table.equals("cold12")) {
+            lzw.setMaxWidth(LZWCompression.MAX_WIDTH);
+        }
+        if (!table.startsWith("cold")) {
+            ByteArrayInputStream training = new ByteArrayInputStream(concat(messages(kind, MESSAGES, 1)));
+            lzw.setPresetDictionary(table.equals("max")
+                    ? LZWPresetDictionary.train(training)
+                    : LZWPresetDictionary.train(training, Integer.parseInt(table)));
+        }
+        messages = messages(kind, MESSAGES, 2);
+        compressed = new byte[MESSAGES][];
+        output = new ByteArrayOutputStream(8192);
+        in = 0;
+        out = 0;
+        for (int m = 0; m < MESSAGES; m++) {
+            output.reset();
+            lzw.compress(new ByteArrayInputStream(messages[m]), output);
+            compressed[m] = output.toByteArray();
+            output.reset();
+            lzw.decompress(new ByteArrayInputStream(compressed[m]), output);
+            if (!Arrays.equals(output.toByteArray(), messages[m])) {
+                throw new IOException("Round trip changed a " + kind + " message with table " + table);
+            }
+            in += messages[m].length;
+            out += compressed[m].length;
+        }
+    }
+
+    @Benchmark
+    public int compress(CompressionRatio ratio) throws IOException {
+        byte[] message = messages[next];
+        next = (next + 1) & (MESSAGES - 1);
+        output.reset();
+        lzw.compress(new ByteArrayInputStream(message), output);
+        ratio.record(in, out);
+        return output.size();
+    }
+
+    @Benchmark
+    public int decompress(CompressionRatio ratio) throws IOException {
+        byte[] message = compressed[next];
+        next = (next + 1) & (MESSAGES - 1);
+        output.reset();
+        lzw.decompress(new ByteArrayInputStream(message), output);
+        ratio.record(in, out);
+        return output.size();
+    }
+
+    /**
+     * Records of 1 to 4 KB: a JSON object with an array of events, or CSV rows under a header.
+     */
+    private static byte[][] messages(String kind, int count, long seed) {
+        Random random = new Random(seed);
+        byte[][] messages = new byte[count][];
+        for (int m = 0; m < count; m++) {
+            int size = 1024 + random.nextInt(3 * 1024);
+            StringBuilder sb = new StringBuilder(size + 256);
+            if (kind.equals("json")) {
+                sb.append("{\"id\":").append(random.nextInt(1000000)).append(",\"events\":[");
+                while (sb.length() < size) {
+                    sb.append("{\"city\":\"").append(CITIES[random.nextInt(CITIES.length)])
+                            .append("\",\"status\":\"").append(STATUSES[random.nextInt(STATUSES.length)])
+                            .append("\",\"lat\":").append(40 + random.nextInt(2)).append('.').append(random.nextInt(100000))
+                            .append(",\"lon\":-").append(75 + random.nextInt(5)).append('.').append(random.nextInt(100000))
+                            .append(",\"count\":").append(random.nextInt(50)).append("},");
+                }
+                sb.setLength(sb.length() - 1);
+                sb.append("]}");
+            } else {
+                sb.append("id,city,status,lat,lon,count\n");
+                while (sb.length() < size) {
+                    sb.append(random.nextInt(1000000)).append(',').append(CITIES[random.nextInt(CITIES.length)])
+                            .append(',').append(STATUSES[random.nextInt(STATUSES.length)])
+                            .append(',').append(40 + random.nextInt(2)).append('.').append(random.nextInt(100000))
+                            .append(",-").append(75 + random.nextInt(5)).append('.').append(random.nextInt(100000))
+                            .append(',').append(random.nextInt(50)).append('\n');
+                }
+            }
+            messages[m] = sb.toString().getBytes();
+        }
+        return messages;
+    }
+
+    private static byte[] concat(byte[][] messages) {
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        for (byte[] message : messages) {
+            all.write(message, 0, message.length);
+        }
+        return all.toByteArray();
+    }
+}
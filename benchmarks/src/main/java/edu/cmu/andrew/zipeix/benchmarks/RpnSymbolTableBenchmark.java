@@ -0,0 +1,68 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.rpn.RedBlackTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the variable table of the RPN calculator, a RedBlackTree
+ * from variable names to BigInteger values: search of an existing variable,
+ * and assignment, which overwrites the value of an existing variable.
+ * Usage: java -jar benchmarks/target/benchmarks.jar RpnSymbolTableBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RpnSymbolTableBenchmark {
+
+    @Param({"26", "10000"})
+    private int variables;
+
+    private String[] names;
+
+    private RedBlackTree table;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        names = new String[variables];
+        table = new RedBlackTree();
+        for (int i = 0; i < variables; i++) {
+            names[i] = "v" + Integer.toString(i * 7919 % variables, 36);
+            table.insert(names[i], BigInteger.valueOf(i));
+        }
+    }
+
+    private String nextName() {
+        String name = names[next];
+        next = next + 1 == names.length ? 0 : next + 1;
+        return name;
+    }
+
+    @Benchmark
+    public BigInteger search() {
+        return table.search(nextName());
+    }
+
+    @Benchmark
+    public RedBlackTree assign() {
+        table.insert(nextName(), BigInteger.TEN);
+        return table;
+    }
+}
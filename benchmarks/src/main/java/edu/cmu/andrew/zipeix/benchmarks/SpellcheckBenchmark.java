@@ -0,0 +1,115 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.spellcheck.FrozenWordTree;
+import edu.cmu.andrew.zipeix.spellcheck.RedBlackTree;
+import edu.cmu.andrew.zipeix.spellcheck.SuggestionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the spell checker lookups: contains and closeBy on the
+ * pointer-based RedBlackTree and on its FrozenWordTree copy, and SuggestionIndex.suggest.
+ * The dictionary is random lowercase words; half of the queries are
+ * dictionary words, the other half the same words with one letter changed.
+ * Usage: java -jar benchmarks/target/benchmarks.jar SpellcheckBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Thread)
+public class SpellcheckBenchmark {
+
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"250000", "500000"})
+    private int words;
+
+    private RedBlackTree tree;
+
+    private FrozenWordTree frozen;
+
+    private SuggestionIndex suggestions;
+
+    private String[] queries;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        TreeSet<String> dictionary = new TreeSet<>();
+        while (dictionary.size() < words) {
+            dictionary.add(word(random));
+        }
+        tree = new RedBlackTree(dictionary.iterator());
+        frozen = tree.freeze();
+        suggestions = tree.suggestionIndex();
+
+        List<String> list = new ArrayList<>(dictionary);
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            char[] chars = list.get(random.nextInt(list.size())).toCharArray();
+            if (i % 2 == 1) {
+                chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+            }
+            // a copy, so hits are not found by identity
+            queries[i] = new String(chars);
+        }
+    }
+
+    private static String word(Random random) {
+        char[] chars = new char[3 + random.nextInt(10)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    private String nextQuery() {
+        String query = queries[next];
+        next = (next + 1) & (QUERIES - 1);
+        return query;
+    }
+
+    @Benchmark
+    public boolean redBlackTreeContains() {
+        return tree.contains(nextQuery());
+    }
+
+    @Benchmark
+    public boolean frozenContains() {
+        return frozen.contains(nextQuery());
+    }
+
+    @Benchmark
+    public String redBlackTreeCloseBy() {
+        return tree.closeBy(nextQuery());
+    }
+
+    @Benchmark
+    public String frozenCloseBy() {
+        return frozen.closeBy(nextQuery());
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return suggestions.suggest(nextQuery(), 5);
+    }
+}
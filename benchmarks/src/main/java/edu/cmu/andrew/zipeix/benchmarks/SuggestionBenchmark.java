@@ -0,0 +1,134 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import edu.cmu.andrew.zipeix.spellcheck.RedBlackTree;
+import edu.cmu.andrew.zipeix.spellcheck.SuggestionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of SuggestionIndex on the dictionary file: building the
+ * index, suggest for the five nearest words, and for comparison computing the
+ * distance to every word. Queries are dictionary words with one or two random
+ * insertions, deletions, substitutions or transpositions.
+ * Usage: java -jar benchmarks/target/benchmarks.jar SuggestionBenchmark, from the project root
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Thread)
+public class SuggestionBenchmark {
+
+    private static final int QUERIES = 1 << 14;
+
+    private static final int K = 5;
+
+    @Param({WordsFile.DEFAULT})
+    private String dictionary;
+
+    private RedBlackTree tree;
+
+    private String[] words;
+
+    private SuggestionIndex index;
+
+    private String[] queries;
+
+    private int[][] rows = new int[3][64];
+
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> sorted = WordsFile.read(dictionary);
+        tree = new RedBlackTree(sorted.iterator());
+        words = sorted.toArray(new String[0]);
+        index = tree.suggestionIndex();
+        queries = queries(words);
+    }
+
+    /**
+     * Random words with one or two random edits, from a fixed seed.
+     */
+    private static String[] queries(String[] words) {
+        Random random = new Random(42);
+        String[] queries = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            StringBuilder word = new StringBuilder(words[random.nextInt(words.length)]);
+            for (int edits = 1 + random.nextInt(2); edits > 0; edits--) {
+                int at = word.length() == 0 ? 0 : random.nextInt(word.length());
+                char c = (char) ('a' + random.nextInt(26));
+                switch (word.length() < 2 ? 0 : random.nextInt(4)) {
+                    case 0:
+                        word.insert(at, c);
+                        break;
+                    case 1:
+                        word.deleteCharAt(at);
+                        break;
+                    case 2:
+                        word.setCharAt(at, c);
+                        break;
+                    default:
+                        at = Math.min(at, word.length() - 2);
+                        char t = word.charAt(at);
+                        word.setCharAt(at, word.charAt(at + 1));
+                        word.setCharAt(at + 1, t);
+                }
+            }
+            queries[q] = word.toString();
+        }
+        return queries;
+    }
+
+    private String nextQuery() {
+        String query = queries[next];
+        next = (next + 1) & (QUERIES - 1);
+        return query;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public SuggestionIndex build() {
+        return tree.suggestionIndex();
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return index.suggest(nextQuery(), K);
+    }
+
+    /**
+     * @return number of words within MAX_DISTANCE edits of the query
+     */
+    @Benchmark
+    public int fullScan() {
+        String query = nextQuery();
+        if (rows[0].length <= query.length()) {
+            rows = new int[3][query.length() + 1];
+        }
+        int found = 0;
+        for (String word : words) {
+            if (SuggestionIndex.distance(query, word, SuggestionIndex.MAX_DISTANCE, rows) <= SuggestionIndex.MAX_DISTANCE) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
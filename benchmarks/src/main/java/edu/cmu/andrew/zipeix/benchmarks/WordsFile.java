@@ -0,0 +1,31 @@
+package edu.cmu.andrew.zipeix.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * The dictionary of the spell checker project, one word per line, for the
+ * benchmarks that need real words. Paths are relative to the directory the
+ * benchmarks are started from, the root of the project.
+ */
+final class WordsFile {
+
+    static final String DEFAULT = "HW2/RedBlackTreeSpellCheckerProject/words.txt";
+
+    private WordsFile() {
+    }
+
+    /**
+     * @param fileName dictionary file
+     * @return its words, sorted
+     * @throws IOException read exception
+     */
+    static List<String> read(String fileName) throws IOException {
+        List<String> words = Files.readAllLines(Paths.get(fileName), StandardCharsets.ISO_8859_1);
+        words.sort(null);
+        return words;
+    }
+}
@@ -0,0 +1,164 @@
+package edu.cmu.andrew.zipeix.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe variant of MyHashMap with the same fixed array of bucket lists.
+ * Each bucket head is swapped with compare-and-set, and nodes are never
+ * changed after they are linked in, except for their volatile value. Reads
+ * take no lock and never wait for writers. Each write either swaps the value
+ * of an existing node atomically or puts a new node at the head of its bucket.
+ * @param <K> key
+ * @param <V> value
+ */
+public class ConcurrentMyHashMap<K, V> {
+
+    /**
+     * One entry of a bucket list. The key and the link are final, so a node
+     * that has been read from a bucket head is always complete.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private volatile V value;
+        private final Node<K, V> link;
+
+        Node(K key, V value, Node<K, V> link) {
+            this.key = key;
+            this.value = value;
+            this.link = link;
+        }
+    }
+
+    /**
+     * Atomic access to Node.value, so put returns exactly the value it replaced.
+     */
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Node.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Head node of every bucket, null for an empty bucket.
+     */
+    private final AtomicReferenceArray<Node<K, V>> array;
+
+    /**
+     * number of keys in the map
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Constructor with size
+     * @param size number of buckets
+     */
+    public ConcurrentMyHashMap(int size) {
+        array = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Put key value pair into map, replacing the value of an existing key.
+     * @param key key to search, not null
+     * @param value value
+     * @return the previous value of the key, or null if the key was not in the map
+     */
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Put key value pair into map unless the key is already in it.
+     * @param key key to search, not null
+     * @param value value to put if the key is new
+     * @return value already in the map, or null if the pair has been put
+     */
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * Get the value with the key in the map
+     * @param key key to search
+     * @return value, or null if the key is not in the map
+     */
+    public V get(K key) {
+        Node<K, V> node = find(array.get(hashValue(key)), key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Check whether the map contains the key
+     * @param key key
+     * @return true is contains
+     */
+    public boolean containsKey(K key) {
+        return find(array.get(hashValue(key)), key) != null;
+    }
+
+    /**
+     * @return number of keys in the map
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Walk the bucket from its current head. If another thread adds a node
+     * first, the compare-and-set fails and the walk starts again from the new head.
+     * An existing node has its value swapped, or with onlyIfAbsent set only if it is null.
+     */
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        int hashValue = hashValue(key);
+        while (true) {
+            Node<K, V> head = array.get(hashValue);
+            Node<K, V> node = find(head, key);
+            if (node != null) {
+                return onlyIfAbsent ? setIfNull(node, value) : getAndSet(node, value);
+            }
+            if (array.compareAndSet(hashValue, head, new Node<>(key, value, head))) {
+                count.incrementAndGet();
+                return null;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V getAndSet(Node<K, V> node, V value) {
+        return (V) VALUE.getAndSet(node, value);
+    }
+
+    /**
+     * @return the value of the node, or null if it was null and has been set
+     */
+    private V setIfNull(Node<K, V> node, V value) {
+        while (true) {
+            V old = node.value;
+            if (old != null) {
+                return old;
+            }
+            if (VALUE.compareAndSet(node, null, value)) {
+                return null;
+            }
+        }
+    }
+
+    private Node<K, V> find(Node<K, V> cursor, K key) {
+        for (; cursor != null; cursor = cursor.link) {
+            if (key.equals(cursor.key)) {
+                return cursor;
+            }
+        }
+        return null;
+    }
+
+    private int hashValue(K key) {
+        return (key.hashCode() & 0x7FFFFFFF) % array.length();
+    }
+}
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.collections;
+
 /**
  * The stack will hold Java objects. Thus, it will be able to contain such Java objects as Strings and BigIntegers.
  */
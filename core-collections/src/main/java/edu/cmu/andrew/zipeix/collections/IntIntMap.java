@@ -0,0 +1,168 @@
+package edu.cmu.andrew.zipeix.collections;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from int keys to int values in parallel primitive arrays.
+ * Collisions are resolved with linear probing and the arrays double once the
+ * map is more than 70% full, as in LinearProbingHashMap, but keys are never
+ * boxed and no node is allocated per entry.
+ * It has the same put, get and containsKey methods as MyHashMap.
+ */
+public class IntIntMap {
+
+    /**
+     * The arrays grow once size exceeds this share of the capacity.
+     */
+    private static final double LOAD_FACTOR = 0.7;
+
+    private int[] keys;
+
+    private int[] values;
+
+    /**
+     * Whether the matching slot of keys holds a key; every int value is a valid key.
+     */
+    private boolean[] used;
+
+    /**
+     * Returned by get and put for a key that is not in the map.
+     */
+    private final int missingValue;
+
+    /**
+     * number of keys in the map
+     */
+    private int size;
+
+    /**
+     * size at which the arrays grow
+     */
+    private int threshold;
+
+    /**
+     * 32 minus log2 of the capacity, used to take the top bits of the hash
+     */
+    private int shift;
+
+    /**
+     * Constructor with the number of keys expected, the map grows past it if needed.
+     * @param expectedSize expected number of keys
+     * @param missingValue value returned by get and put for a key that is not in the map
+     */
+    public IntIntMap(int expectedSize, int missingValue) {
+        int capacity = Integer.highestOneBit((int) Math.max(16, Math.min(1 << 30, expectedSize / LOAD_FACTOR + 1)) - 1) << 1;
+        this.missingValue = missingValue;
+        allocate(capacity);
+    }
+
+    /**
+     * Put key value pair into map, replacing the value of an existing key.
+     * @param key key to search
+     * @param value value
+     * @return the previous value of the key, or missingValue if the key was not in the map
+     */
+    public int put(int key, int value) {
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                int old = values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size > threshold) {
+            resize();
+        }
+        return missingValue;
+    }
+
+    /**
+     * Get the value with the key in the map
+     * @param key key to search
+     * @return value, or missingValue if the key is not in the map
+     */
+    public int get(int key) {
+        int slot = find(key);
+        return slot < 0 ? missingValue : values[slot];
+    }
+
+    /**
+     * Check whether the map contains the key
+     * @param key key
+     * @return true is contains
+     */
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove every key and keep the arrays, so a map that is refilled to the same size does not allocate.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * @return slot of the key, or -1 if the key is not in the map
+     */
+    private int find(int key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fibonacci hashing spreads keys that differ only in the high or low bits.
+     */
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+        shift = Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    /**
+     * Double the arrays and put every key back.
+     */
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package edu.cmu.andrew.zipeix.collections;
+
+import java.util.Arrays;
+
+/**
+ * This hash map keeps keys and values in two arrays and resolves collisions
+ * with linear probing, so a lookup walks neighbouring array slots instead of
+ * a linked list. The arrays double once the map is more than 70% full, up to
+ * MAXIMUM_CAPACITY slots, and putting an existing key replaces its value.
+ * It has the same put, putIfAbsent, get, containsKey and probes methods as MyHashMap.
+ * @param <K> key
+ * @param <V> value
+ */
+public class LinearProbingHashMap<K, V> {
+
+    /**
+     * The arrays grow once size exceeds this share of the capacity.
+     */
+    private static final double LOAD_FACTOR = 0.7;
+
+    /**
+     * Largest power of two an array can have; the map holds at most 70% of it.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private Object[] keys;
+
+    private Object[] values;
+
+    /**
+     * number of keys in the map
+     */
+    private int size;
+
+    /**
+     * size at which the arrays grow
+     */
+    private int threshold;
+
+    /**
+     * 32 minus log2 of the capacity, used to take the top bits of the hash
+     */
+    private int shift;
+
+    /**
+     * Slots compared by putIfAbsent.
+     */
+    private long probes;
+
+    /**
+     * Constructor with the number of keys expected, the map grows past it if needed.
+     * @param expectedSize expected number of keys
+     */
+    public LinearProbingHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit((int) Math.max(16, Math.min(MAXIMUM_CAPACITY, expectedSize / LOAD_FACTOR + 1)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Put key value pair into map, replacing the value of an existing key.
+     * @param key key to search, not null
+     * @param value value
+     * @return the previous value of the key, or null if the key was not in the map
+     * @throws IllegalStateException if the key is new and the map is already at its largest size
+     */
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        for (Object k = keys[slot]; k != null; k = keys[slot]) {
+            if (k.equals(key)) {
+                V old = (V) values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        add(slot, key, value);
+        return null;
+    }
+
+    /**
+     * Put key value pair into map unless the key is already in it.
+     * The key is hashed and probed only once.
+     * @param key key to search, not null
+     * @param value value to put if the key is new
+     * @return value already in the map, or null if the pair has been put
+     * @throws IllegalStateException if the key is new and the map is already at its largest size
+     */
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(K key, V value) {
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        for (Object k = keys[slot]; k != null; k = keys[slot]) {
+            probes++;
+            if (k.equals(key)) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        add(slot, key, value);
+        return null;
+    }
+
+    /**
+     * Get the value with the key in the map
+     * @param key key to search
+     * @return value, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Check whether the map contains the key
+     * @param key key
+     * @return true is contains
+     */
+    public boolean containsKey(K key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove every key, keeping the arrays at their current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Occupied slots compared with the key by putIfAbsent, added up.
+     * Lookups with get and containsKey are not counted, as in MyHashMap.
+     * @return total number of slots compared by putIfAbsent
+     */
+    public long probes() {
+        return probes;
+    }
+
+    /**
+     * Fill the free slot found by a probe, and grow the arrays if the map is now too full.
+     */
+    private void add(int slot, Object key, Object value) {
+        if (size == threshold && keys.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("LinearProbingHashMap cannot hold more than " + threshold + " keys");
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            resize();
+        }
+    }
+
+    /**
+     * @return slot of the key, or -1 if the key is not in the map
+     */
+    private int find(K key) {
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        for (Object k = keys[slot]; k != null; k = keys[slot]) {
+            if (k.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Fibonacci hashing spreads keys whose hashCode differs only in the high or low bits.
+     */
+    private int slot(Object key) {
+        return (key.hashCode() * 0x9E3779B9) >>> shift;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+        shift = Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    /**
+     * Double the arrays and put every key back. add never calls this at
+     * MAXIMUM_CAPACITY, so the new capacity does not overflow.
+     */
+    private void resize() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package edu.cmu.andrew.zipeix.collections;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from long keys to object values, with the keys in a primitive array.
+ * Collisions are resolved with linear probing and the arrays double once the
+ * map is more than 70% full, as in LinearProbingHashMap, but keys are never
+ * boxed and no node is allocated per entry.
+ * It has the same put, get and containsKey methods as MyHashMap.
+ * @param <V> value
+ */
+public class LongObjectMap<V> {
+
+    /**
+     * The arrays grow once size exceeds this share of the capacity.
+     */
+    private static final double LOAD_FACTOR = 0.7;
+
+    private long[] keys;
+
+    private Object[] values;
+
+    /**
+     * Whether the matching slot of keys holds a key; every long value is a valid key.
+     */
+    private boolean[] used;
+
+    /**
+     * number of keys in the map
+     */
+    private int size;
+
+    /**
+     * size at which the arrays grow
+     */
+    private int threshold;
+
+    /**
+     * 32 minus log2 of the capacity, used to take the top bits of the hash
+     */
+    private int shift;
+
+    /**
+     * Constructor with the number of keys expected, the map grows past it if needed.
+     * @param expectedSize expected number of keys
+     */
+    public LongObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit((int) Math.max(16, Math.min(1 << 30, expectedSize / LOAD_FACTOR + 1)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Put key value pair into map, replacing the value of an existing key.
+     * @param key key to search
+     * @param value value
+     * @return the previous value of the key, or null if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                V old = (V) values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * Get the value with the key in the map
+     * @param key key to search
+     * @return value, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Check whether the map contains the key
+     * @param key key
+     * @return true is contains
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove every key and keep the arrays, so a map that is refilled to the same size does not allocate.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * @return slot of the key, or -1 if the key is not in the map
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fibonacci hashing spreads keys that differ only in the high or low bits.
+     */
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (32 + shift));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+        shift = Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    /**
+     * Double the arrays and put every key back.
+     */
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package edu.cmu.andrew.zipeix.collections;
+
+/**
+ * This hash map will be implemented with an array of linked lists.
+ * Lookups never touch the cursor stored in the lists, so once the map is
+ * filled and handed to other threads (for example by starting them or by
+ * submitting tasks to an executor afterwards), any number of threads can call
+ * get and containsKey at the same time. put and putIfAbsent still need a
+ * single writer with no concurrent readers.
+ * @param <K> key
+ * @param <V> value
+ */
+public class MyHashMap <K, V> {
+    /**
+     * The array will provide for 127 linked lists (indexes from 0 to 126).
+     */
+    private final SinglyLinkedList<K, V>[] array;
+
+    /**
+     * size of map
+     */
+    private final int size;
+
+    /**
+     * Nodes in the buckets searched by putIfAbsent.
+     */
+    private long probes;
+
+    /**
+     * Constructor with size
+     * @param size
+     */
+    @SuppressWarnings("unchecked")
+    public MyHashMap(int size) {
+        this.size = size;
+        array = new SinglyLinkedList[size];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = new SinglyLinkedList<>();
+        }
+    }
+
+    /**
+     * Put key value pair into map
+     * @param key key to search
+     * @param value value
+     */
+    public void put(K key, V value) {
+        int hashValue = hashValue(key);
+        array[hashValue].addAtEndNode(key, value);
+    }
+
+    /**
+     * Put key value pair into map unless the key is already in it.
+     * The bucket is hashed and walked only once.
+     * @param key key to search
+     * @param value value to put if the key is new
+     * @return value already in the map, or null if the pair has been put
+     */
+    public V putIfAbsent(K key, V value) {
+        int hashValue = hashValue(key);
+        probes += array[hashValue].countNodes();
+        ObjectNode<K, V> node = array[hashValue].addIfAbsent(key, value);
+        return node == null ? null : node.getValue();
+    }
+
+    /**
+     * Get the value with the key in the map
+     * @param key key to search
+     * @return value
+     */
+    public V get(K key) {
+        int hashValue = hashValue(key);
+        ObjectNode<K, V> node = array[hashValue].listSearch(key);
+        return node == null ? null : node.getValue();
+    }
+
+    /**
+     * Check whether the map contains the key
+     * @param key key
+     * @return true is contains
+     */
+    public boolean containsKey(K key) {
+        int hashValue = hashValue(key);
+        return array[hashValue].listSearch(key) != null;
+    }
+
+    /**
+     * Length of the hash chains walked by putIfAbsent, added up. A new key is
+     * compared with every node in its bucket; a key already in the map stops
+     * at its own node, so for those this is an upper bound.
+     * Lookups with get and containsKey are not counted, so readers on several
+     * threads never write to the map.
+     * @return total number of nodes in the buckets searched by putIfAbsent
+     */
+    public long probes() {
+        return probes;
+    }
+
+    private int hashValue(K key) {
+        return (key.hashCode() & 0x7FFFFFFF) % size;
+    }
+}
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.collections;
+
 public class ObjectNode<K, V> {
     // Invariant of the edu.colorado.nodes.ObjectNode class:
     //   1. The node's Object data is in the instance variable data.
@@ -6,7 +8,7 @@ public class ObjectNode<K, V> {
     //      next node of the list.
     private K key;
     private V value;
-    private ObjectNode link;
+    private ObjectNode<K, V> link;
 
 
     /**
@@ -22,7 +24,7 @@ public class ObjectNode<K, V> {
      *   This node contains the specified data and link to the next node.
      * @time O(1)
      **/
-    public ObjectNode(K k, V initialData, ObjectNode initialLink) {
+    public ObjectNode(K k, V initialData, ObjectNode<K, V> initialLink) {
         key = k;
         value = initialData;
         link = initialLink;
@@ -34,7 +36,7 @@ public class ObjectNode<K, V> {
      *   the data to place in the new node
      **/
     public void addNodeAfter(K key, V value) {
-        link = new ObjectNode(key, value, link);
+        link = new ObjectNode<>(key, value, link);
     }
 
     public K getKey() {
@@ -58,7 +60,7 @@ public class ObjectNode<K, V> {
      *   is nothing after this node)
      * @time O(1)
      **/
-    public ObjectNode getLink( ) {
+    public ObjectNode<K, V> getLink( ) {
         return link;
     }
 
@@ -80,8 +82,8 @@ public class ObjectNode<K, V> {
      *   Indicates that position is not positive.
      * @time O(n)
      **/
-    public static ObjectNode listPosition(ObjectNode head, int position) {
-        ObjectNode cursor;
+    public static <K, V> ObjectNode<K, V> listPosition(ObjectNode<K, V> head, int position) {
+        ObjectNode<K, V> cursor;
         int i;
 
         if (position < 0)
@@ -101,7 +103,7 @@ public class ObjectNode<K, V> {
         Object data = getValue();
         StringBuilder sb = new StringBuilder();
         sb.append(data);
-        ObjectNode link = getLink();
+        ObjectNode<K, V> link = getLink();
         while (link != null) {
             data = link.getValue();
             link = link.link;
@@ -156,7 +158,7 @@ public class ObjectNode<K, V> {
      *   this node.
      * @time O(1)
      **/
-    public void setLink(ObjectNode newLink) {
+    public void setLink(ObjectNode<K, V> newLink) {
         link = newLink;
     }
 }
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.collections;
+
 /**
  * The Queue is a first in first out data structure.
  * This Queue holds Java Object references.
@@ -22,7 +24,7 @@ public class Queue {
      * @worst-time O(1)
      * @best-time O(1)
      */
-    Queue() {
+    public Queue() {
         array = new Object[initialCapacity];
     }
 
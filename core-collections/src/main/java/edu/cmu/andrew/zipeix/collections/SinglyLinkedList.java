@@ -1,23 +1,34 @@
+package edu.cmu.andrew.zipeix.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * SinglyLinkedList has a head and tail pointer.
  * Head and tail are both ObjectNodes.
+ * listSearch and iterator() keep their position in local variables, so any
+ * number of threads can read the list at once as long as none of them adds to it.
+ * reset, next and hasNext share one cursor and can only be used by one thread.
+ * Lists used as a plain sequence of values, such as the levels of the Merkle
+ * tree, add with the one-argument addAtFrontNode and addAtEndNode: their
+ * nodes have a null key, which listSearch and addIfAbsent never match.
  */
-public class SinglyLinkedList <K, V> {
+public class SinglyLinkedList <K, V> implements Iterable<ObjectNode<K, V>> {
     /**
      * The head pointer is null or points to the first element on the list.
      */
-    private ObjectNode head;
+    private ObjectNode<K, V> head;
     /**
      * The tail pointer is null or points to the last node on the list.
      */
-    private ObjectNode tail;
+    private ObjectNode<K, V> tail;
     /**
      * An integer countNodes is maintained to keep count of the number of nodes added to the list.
      * This provided an O(1) count to the caller.
      */
     private int countNodes;
 
-    private ObjectNode iterator;
+    private ObjectNode<K, V> iterator;
 
     /**
      * Constructs a new SinglyLinkedList object.
@@ -28,6 +39,33 @@ public class SinglyLinkedList <K, V> {
         iterator = head;
     }
 
+    /**
+     * Iterator over the nodes from head to tail with its own cursor,
+     * independent of reset and next.
+     * @return iterator over the nodes of the list
+     */
+    @Override
+    public Iterator<ObjectNode<K, V>> iterator() {
+        return new Iterator<ObjectNode<K, V>>() {
+            private ObjectNode<K, V> cursor = head;
+
+            @Override
+            public boolean hasNext() {
+                return cursor != null;
+            }
+
+            @Override
+            public ObjectNode<K, V> next() {
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                ObjectNode<K, V> ans = cursor;
+                cursor = cursor.getLink();
+                return ans;
+            }
+        };
+    }
+
     /**
      * reset the iterator to the beginning of the list.
      * That is, set a reference to the head of the list.
@@ -41,9 +79,9 @@ public class SinglyLinkedList <K, V> {
      * This reference becomes null if the object returned is the last node on the list.
      * @return
      */
-    public ObjectNode next() {
+    public ObjectNode<K, V> next() {
         if (hasNext()) {
-            ObjectNode ans = iterator;
+            ObjectNode<K, V> ans = iterator;
             iterator = iterator.getLink();
             return ans;
         }
@@ -64,11 +102,22 @@ public class SinglyLinkedList <K, V> {
      *      The count is returned by countNodes.
      */
     public void addAtFrontNode(K k, V c) {
-        ObjectNode node = new ObjectNode(k, c, head);
+        ObjectNode<K, V> node = new ObjectNode<>(k, c, head);
         head = node;
+        if (tail == null) {
+            tail = node;
+        }
         countNodes++;
     }
 
+    /**
+     * Add a node containing the Object c and no key to the head of the linked list.
+     * @param c a single Object
+     */
+    public void addAtFrontNode(V c) {
+        addAtFrontNode(null, c);
+    }
+
     /**
      * Add a node containing the Object c to the end of the linked list.
      * No searching of the list is required.
@@ -76,18 +125,53 @@ public class SinglyLinkedList <K, V> {
      * @param c a single Object
      */
     public void addAtEndNode(K key, V c) {
-        ObjectNode node = new ObjectNode(key, c, null);
+        ObjectNode<K, V> node = new ObjectNode<>(key, c, null);
         if (head == null) {
             head = node;
         } else {
-            ObjectNode cur = head;
-            while (cur.getLink() != null) {
+            tail.setLink(node);
+        }
+        tail = node;
+        countNodes++;
+    }
+
+    /**
+     * Add a node containing the Object c and no key to the end of the linked list.
+     * @param c a single Object
+     */
+    public void addAtEndNode(V c) {
+        addAtEndNode(null, c);
+    }
+
+    /**
+     * Add a node containing key and c to the end of the list unless a node
+     * with the key is already in it. The list is walked only once.
+     * @param key key to search
+     * @param c a single Object
+     * @return the node that already contains the key, or null if a node has been added
+     */
+    public ObjectNode<K, V> addIfAbsent(K key, V c) {
+        ObjectNode<K, V> cur = head;
+        if (cur != null) {
+            while (true) {
+                if (key.equals(cur.getKey())) {
+                    return cur;
+                }
+                if (cur.getLink() == null) {
+                    break;
+                }
                 cur = cur.getLink();
             }
+        }
+        ObjectNode<K, V> node = new ObjectNode<>(key, c, null);
+        if (cur == null) {
+            head = node;
+        } else {
             cur.setLink(node);
         }
         tail = node;
         countNodes++;
+        return null;
     }
 
     /**
@@ -107,11 +191,11 @@ public class SinglyLinkedList <K, V> {
      *      reference to an object with list index i.
      *      The first object in the list is at position 0.
      */
-    public Object getObjectAt(int i) {
+    public V getObjectAt(int i) {
         if (i < 0 || i >= countNodes) {
             return null;
         }
-        ObjectNode cur = head;
+        ObjectNode<K, V> cur = head;
         for (int count = 0; count < i; count++) {
             cur = cur.getLink();
         }
@@ -122,15 +206,11 @@ public class SinglyLinkedList <K, V> {
      * Returns the data in the tail of the list.
      * @return the data in the tail of the list
      */
-    public Object getLast() {
-        if (head == null) {
+    public V getLast() {
+        if (tail == null) {
             return null;
         }
-        ObjectNode cur = head;
-        while (cur.getLink() != null) {
-            cur = cur.getLink();
-        }
-        return cur.getValue();
+        return tail.getValue();
     }
 
     /**
@@ -142,7 +222,7 @@ public class SinglyLinkedList <K, V> {
             return null;
         }
         StringBuilder sb = new StringBuilder();
-        ObjectNode cur = head;
+        ObjectNode<K, V> cur = head;
         while (cur != null) {
             sb.append(cur.getValue());
             cur = cur.getLink();
@@ -157,8 +237,8 @@ public class SinglyLinkedList <K, V> {
      *   specified target. If there is no such node, the null reference is
      *   returned.
      **/
-    public ObjectNode listSearch(K key) {
-        ObjectNode cursor;
+    public ObjectNode<K, V> listSearch(K key) {
+        ObjectNode<K, V> cursor;
 
         for (cursor = head; cursor != null; cursor = cursor.getLink())
             if (key.equals(cursor.getKey()))
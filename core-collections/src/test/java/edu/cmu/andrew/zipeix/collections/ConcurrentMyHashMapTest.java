@@ -0,0 +1,137 @@
+package edu.cmu.andrew.zipeix.collections;
+
+import org.junit.jupiter.api.RepeatedTest;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentMyHashMapTest {
+
+    private static final int THREADS = 8;
+
+    private static final int KEYS = 20000;
+
+    /**
+     * Few buckets, so threads race on the same bucket heads as well as the same keys.
+     */
+    private static final int BUCKETS = 64;
+
+    /**
+     * Run task(thread) on THREADS threads released together, and rethrow the first failure.
+     */
+    private static void race(ThreadTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+
+    /**
+     * Every key once, in a different order on each thread.
+     */
+    private static List<Integer> shuffledKeys(int thread) {
+        List<Integer> keys = new ArrayList<>(KEYS);
+        for (int k = 0; k < KEYS; k++) {
+            keys.add(k);
+        }
+        Collections.shuffle(keys, new Random(thread));
+        return keys;
+    }
+
+    @RepeatedTest(5)
+    void putIfAbsentHasOneWinnerPerKey() throws Exception {
+        ConcurrentMyHashMap<Integer, Integer> map = new ConcurrentMyHashMap<>(BUCKETS);
+        AtomicIntegerArray winners = new AtomicIntegerArray(KEYS);
+        AtomicIntegerArray winner = new AtomicIntegerArray(KEYS);
+        race(thread -> {
+            for (int key : shuffledKeys(thread)) {
+                Integer existing = map.putIfAbsent(key, thread);
+                if (existing == null) {
+                    winners.incrementAndGet(key);
+                    winner.set(key, thread);
+                } else {
+                    assertTrue(existing >= 0 && existing < THREADS);
+                }
+            }
+        });
+        assertEquals(KEYS, map.size());
+        for (int key = 0; key < KEYS; key++) {
+            assertEquals(1, winners.get(key), "winners of key " + key);
+            assertEquals(winner.get(key), map.get(key), "value of key " + key);
+        }
+    }
+
+    /**
+     * Half of the threads put and half putIfAbsent. Exactly one call per key
+     * finds it missing, and every value put is either returned as the previous
+     * value of a later put or is the final value, exactly once.
+     */
+    @RepeatedTest(5)
+    void putAndPutIfAbsentAgreeOnOneWinnerAndLoseNoValue() throws Exception {
+        ConcurrentMyHashMap<Integer, Integer> map = new ConcurrentMyHashMap<>(BUCKETS);
+        AtomicIntegerArray winners = new AtomicIntegerArray(KEYS);
+        // values are thread * KEYS + key, so one bit per value written
+        BitSet[] returned = new BitSet[THREADS];
+        race(thread -> {
+            BitSet seen = new BitSet(THREADS * KEYS);
+            returned[thread] = seen;
+            for (int key : shuffledKeys(thread)) {
+                int value = thread * KEYS + key;
+                Integer previous = thread % 2 == 0 ? map.put(key, value) : map.putIfAbsent(key, value);
+                if (previous == null) {
+                    winners.incrementAndGet(key);
+                } else if (thread % 2 == 0) {
+                    seen.set(previous);
+                }
+            }
+        });
+        assertEquals(KEYS, map.size());
+        BitSet all = new BitSet(THREADS * KEYS);
+        for (BitSet seen : returned) {
+            assertFalse(seen.intersects(all), "a value was replaced twice");
+            all.or(seen);
+        }
+        for (int key = 0; key < KEYS; key++) {
+            assertEquals(1, winners.get(key), "winners of key " + key);
+            int last = map.get(key);
+            assertEquals(key, last % KEYS);
+            assertFalse(all.get(last), "the final value of key " + key + " was also replaced");
+            all.set(last);
+            // every value stored by a put or by the winning call is accounted for exactly once
+            for (int thread = 0; thread < THREADS; thread += 2) {
+                assertTrue(all.get(thread * KEYS + key), "the value of thread " + thread + " for key " + key + " was lost");
+            }
+        }
+    }
+}
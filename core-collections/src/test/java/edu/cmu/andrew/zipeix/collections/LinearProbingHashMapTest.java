@@ -0,0 +1,84 @@
+package edu.cmu.andrew.zipeix.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LinearProbingHashMapTest {
+
+    /**
+     * Distinct keys that, below 65536, differ only in their high bits, which a
+     * hash taken from the low bits would put in one slot.
+     */
+    private static int key(int i) {
+        return Integer.rotateLeft(i, 16);
+    }
+
+    @Test
+    void growsAndKeepsEveryKey() {
+        LinearProbingHashMap<Integer, Integer> map = new LinearProbingHashMap<>(1);
+        int n = 100000;
+        for (int i = 0; i < n; i++) {
+            assertNull(map.put(key(i), i));
+            assertEquals(i + 1, map.size());
+        }
+        for (int i = 0; i < n; i++) {
+            assertTrue(map.containsKey(key(i)));
+            assertEquals(i, map.get(key(i)));
+        }
+        assertFalse(map.containsKey(key(n)));
+        assertFalse(map.containsKey(-1));
+        assertNull(map.get(key(n)));
+    }
+
+    @Test
+    void putOfExistingKeyReplacesItsValue() {
+        LinearProbingHashMap<String, Integer> map = new LinearProbingHashMap<>(16);
+        for (int i = 0; i < 1000; i++) {
+            map.put("k" + i, i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.put("k" + i, -i));
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(-i, map.get("k" + i));
+        }
+    }
+
+    @Test
+    void putIfAbsentKeepsTheFirstValue() {
+        LinearProbingHashMap<String, Integer> map = new LinearProbingHashMap<>(16);
+        for (int i = 0; i < 1000; i++) {
+            assertNull(map.putIfAbsent("k" + i, i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.putIfAbsent("k" + i, -i));
+            assertEquals(i, map.get("k" + i));
+        }
+        assertEquals(1000, map.size());
+        assertTrue(map.probes() >= 1000);
+    }
+
+    @Test
+    void clearEmptiesTheMapForRefill() {
+        LinearProbingHashMap<Integer, String> map = new LinearProbingHashMap<>(4);
+        for (int i = 0; i < 500; i++) {
+            map.put(i, "a" + i);
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        for (int i = 0; i < 500; i++) {
+            assertFalse(map.containsKey(i));
+        }
+        for (int i = 250; i < 750; i++) {
+            map.put(i, "b" + i);
+        }
+        assertEquals(500, map.size());
+        assertFalse(map.containsKey(0));
+        assertEquals("b700", map.get(700));
+    }
+}
@@ -0,0 +1,172 @@
+package edu.cmu.andrew.zipeix.collections;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Random operations on IntIntMap, IntObjectMap and LongObjectMap, checked
+ * step by step against java.util.HashMap. The maps start at their smallest
+ * capacity and grow past it, are cleared, and are filled again.
+ */
+class PrimitiveMapsTest {
+
+    private static final int OPERATIONS = 200000;
+
+    /**
+     * The maps are cleared and refilled after every this many operations.
+     */
+    private static final int CLEAR_EVERY = 50000;
+
+    private static final int MISSING = -1;
+
+    /**
+     * Keys at the edges of the int range, and the missingValue of the IntIntMap.
+     */
+    private static final int[] SPECIAL_INTS = {0, 1, -1, MISSING, Integer.MIN_VALUE, Integer.MAX_VALUE,
+        Integer.MIN_VALUE + 1, 1 << 16, -(1 << 16), 1 << 30};
+
+    private static final long[] SPECIAL_LONGS = {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE,
+        Integer.MIN_VALUE, Integer.MAX_VALUE, 1L << 32, -(1L << 32), 1L << 62};
+
+    /**
+     * Special keys, keys from a small range that repeat and collide,
+     * negative keys, and keys from the whole int range.
+     */
+    private static int nextInt(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return SPECIAL_INTS[random.nextInt(SPECIAL_INTS.length)];
+            case 1:
+                return random.nextInt(5000);
+            case 2:
+                return -random.nextInt(5000);
+            default:
+                return random.nextInt();
+        }
+    }
+
+    /**
+     * As nextInt, plus keys that differ only in their high 32 bits.
+     */
+    private static long nextLong(Random random) {
+        switch (random.nextInt(5)) {
+            case 0:
+                return SPECIAL_LONGS[random.nextInt(SPECIAL_LONGS.length)];
+            case 1:
+                return random.nextInt(5000);
+            case 2:
+                return -random.nextInt(5000);
+            case 3:
+                return (long) random.nextInt(5000) << 32;
+            default:
+                return random.nextLong();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    void intIntMapMatchesHashMap(long seed) {
+        Random random = new Random(seed);
+        IntIntMap map = new IntIntMap(0, MISSING);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int op = 0; op < OPERATIONS; op++) {
+            int key = nextInt(random);
+            int choice = random.nextInt(100);
+            if (op % CLEAR_EVERY == CLEAR_EVERY - 1) {
+                checkAll(expected, map);
+                expected.clear();
+                map.clear();
+            } else if (choice < 50) {
+                int value = random.nextInt(8) == 0 ? MISSING : random.nextInt();
+                Integer old = expected.put(key, value);
+                assertEquals(old == null ? MISSING : old, map.put(key, value), "put " + key);
+            } else if (choice < 75) {
+                assertEquals(expected.getOrDefault(key, MISSING), map.get(key), "get " + key);
+            } else {
+                assertEquals(expected.containsKey(key), map.containsKey(key), "containsKey " + key);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        checkAll(expected, map);
+    }
+
+    private static void checkAll(Map<Integer, Integer> expected, IntIntMap map) {
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    private static void checkAll(Map<Integer, String> expected, IntObjectMap<String> map) {
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    private static void checkAll(Map<Long, String> expected, LongObjectMap<String> map) {
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    void intObjectMapMatchesHashMap(long seed) {
+        Random random = new Random(seed);
+        IntObjectMap<String> map = new IntObjectMap<>(0);
+        Map<Integer, String> expected = new HashMap<>();
+        for (int op = 0; op < OPERATIONS; op++) {
+            int key = nextInt(random);
+            int choice = random.nextInt(100);
+            if (op % CLEAR_EVERY == CLEAR_EVERY - 1) {
+                checkAll(expected, map);
+                expected.clear();
+                map.clear();
+            } else if (choice < 50) {
+                String value = random.nextInt(8) == 0 ? null : Integer.toString(op);
+                assertEquals(expected.put(key, value), map.put(key, value), "put " + key);
+            } else if (choice < 75) {
+                assertEquals(expected.get(key), map.get(key), "get " + key);
+            } else {
+                assertEquals(expected.containsKey(key), map.containsKey(key), "containsKey " + key);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        checkAll(expected, map);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    void longObjectMapMatchesHashMap(long seed) {
+        Random random = new Random(seed);
+        LongObjectMap<String> map = new LongObjectMap<>(0);
+        Map<Long, String> expected = new HashMap<>();
+        for (int op = 0; op < OPERATIONS; op++) {
+            long key = nextLong(random);
+            int choice = random.nextInt(100);
+            if (op % CLEAR_EVERY == CLEAR_EVERY - 1) {
+                checkAll(expected, map);
+                expected.clear();
+                map.clear();
+            } else if (choice < 50) {
+                String value = random.nextInt(8) == 0 ? null : Integer.toString(op);
+                assertEquals(expected.put(key, value), map.put(key, value), "put " + key);
+            } else if (choice < 75) {
+                assertEquals(expected.get(key), map.get(key), "get " + key);
+            } else {
+                assertEquals(expected.containsKey(key), map.containsKey(key), "containsKey " + key);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        checkAll(expected, map);
+    }
+}
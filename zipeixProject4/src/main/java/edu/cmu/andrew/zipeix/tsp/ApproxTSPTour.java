@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.tsp;
+
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
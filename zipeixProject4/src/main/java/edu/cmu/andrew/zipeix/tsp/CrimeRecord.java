@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.tsp;
+
 public class CrimeRecord {
     private double x;
     private double y;
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.tsp;
+
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.tsp;
+
 public class MinHeap {
 
     private Node[] heapArray;
@@ -1,3 +1,5 @@
+package edu.cmu.andrew.zipeix.tsp;
+
 import java.util.ArrayList;
 import java.util.List;
 